@@ -0,0 +1,66 @@
+package com.jwt.example.benchmark;
+
+import com.jwt.example.security.Hs512TokenVerifier;
+import com.jwt.example.security.JwtSigningKeys;
+import com.jwt.example.security.JwtTokenProvider;
+import com.jwt.example.security.TokenValidationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS512 verification of a valid token through jjwt ({@code validateToken}, as today), through
+ * {@link JwtTokenProvider} with {@code jwt.fast-verification} ({@code fastValidateToken}) and through
+ * {@link Hs512TokenVerifier} alone. Run with {@code -prof gc} (the default in the jmh profile) to compare allocation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Hs512TokenVerifierBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int tokenSize;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtTokenProvider fastTokenProvider;
+    private Hs512TokenVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtSigningKeys signingKeys = new JwtSigningKeys(JwtTokenBenchmark.SECRET, "HS512", "", "");
+        tokenProvider = new JwtTokenProvider(signingKeys, 900000, false, new SimpleMeterRegistry(), JwtTokenBenchmark.SECURITY_EVENTS);
+        fastTokenProvider = new JwtTokenProvider(signingKeys, 900000, true, new SimpleMeterRegistry(), JwtTokenBenchmark.SECURITY_EVENTS);
+        verifier = signingKeys.hs512TokenVerifier();
+        token = tokenProvider.generateToken(JwtTokenBenchmark.user(tokenSize));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean fastValidateToken() {
+        return fastTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public TokenValidationResult verifier() {
+        return verifier.verify(token);
+    }
+}
@@ -0,0 +1,112 @@
+package com.jwt.example.benchmark;
+
+import com.jwt.example.config.SecurityConfig;
+import com.jwt.example.security.AuthenticationMode;
+import com.jwt.example.security.JwtAuthenticationFilter;
+import com.jwt.example.security.JwtSigningKeys;
+import com.jwt.example.security.JwtTokenProvider;
+import com.jwt.example.security.TokenRevocationStore;
+import com.jwt.example.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}: header extraction, verification (optionally
+ * cached), revocation check and building the authentication. {@code doFilter} loads the user from an in-memory
+ * store so the numbers reflect the filter, not the database; {@code doFilterClaims} builds the authentication from
+ * the token's claims, so with the cache on its {@code gc.alloc.rate.norm} is close to the filter's own per-request
+ * garbage. {@code publicRoute} sends the same token to a permitAll route, which the filter skips.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"HS512", "RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    @Param({"1", "10"})
+    public int tokenSize;
+
+    @Param({"false", "true"})
+    public boolean cacheEnabled;
+
+    private JwtAuthenticationFilter lookupFilter;
+    private JwtAuthenticationFilter claimsFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(
+                new JwtSigningKeys(JwtTokenBenchmark.SECRET, algorithm, "", ""), 900000, false,
+                new SimpleMeterRegistry(), JwtTokenBenchmark.SECURITY_EVENTS);
+        UserDetails user = JwtTokenBenchmark.user(tokenSize);
+        lookupFilter = filter(tokenProvider, user, AuthenticationMode.LOOKUP);
+        claimsFilter = filter(tokenProvider, user, AuthenticationMode.CLAIMS);
+        authorizationHeader = "Bearer " + tokenProvider.generateToken(user);
+    }
+
+    private JwtAuthenticationFilter filter(JwtTokenProvider tokenProvider, UserDetails user, AuthenticationMode mode) {
+        return new JwtAuthenticationFilter(tokenProvider,
+                new VerifiedTokenCache(cacheEnabled, 10000, 300000),
+                new TokenRevocationStore(100000, 0.001),
+                new InMemoryUserDetailsManager(user),
+                mode,
+                new SimpleMeterRegistry(),
+                JwtTokenBenchmark.SECURITY_EVENTS,
+                SecurityConfig.publicRoutes());
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        return filter(lookupFilter, "/api/user/profile");
+    }
+
+    @Benchmark
+    public Authentication doFilterClaims() throws ServletException, IOException {
+        return filter(claimsFilter, "/api/user/profile");
+    }
+
+    @Benchmark
+    public Authentication publicRoute() throws ServletException, IOException {
+        return filter(lookupFilter, "/api/public/health");
+    }
+
+    private Authentication filter(JwtAuthenticationFilter filter, String path) throws ServletException, IOException {
+        // A fresh request each time: OncePerRequestFilter marks a request as filtered and would skip it afterwards.
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
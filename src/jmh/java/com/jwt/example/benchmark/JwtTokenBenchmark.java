@@ -0,0 +1,84 @@
+package com.jwt.example.benchmark;
+
+import com.jwt.example.audit.LoggingSecurityEventSink;
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.security.JwtSigningKeys;
+import com.jwt.example.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Token issuing and verification through {@link JwtTokenProvider}. {@code tokenSize} is the number of role claims
+ * carried by the token, which drives the payload length that is signed, encoded and parsed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    static final String SECRET = "benchmarkSecretKeyForJWTTokenGenerationAndValidationPurposeOnly-0123456789";
+    static final SecurityEventPublisher SECURITY_EVENTS =
+            new SecurityEventPublisher(new LoggingSecurityEventSink(), 8192, 256, 10000, 10);
+
+    @Param({"HS512", "RS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    @Param({"1", "10", "50"})
+    public int tokenSize;
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(new JwtSigningKeys(SECRET, algorithm, "", ""), 900000, false, new SimpleMeterRegistry(), SECURITY_EVENTS);
+        userDetails = user(tokenSize);
+        token = tokenProvider.generateToken(userDetails);
+    }
+
+    static UserDetails user(int roles) {
+        return User.withUsername("benchmark_user")
+                .password("{noop}password")
+                .roles(IntStream.range(0, roles).mapToObj(i -> "ROLE" + i).toArray(String[]::new))
+                .build();
+    }
+
+    @Benchmark
+    public String generateTokenFromUsername() {
+        return tokenProvider.generateTokenFromUsername("benchmark_user");
+    }
+
+    @Benchmark
+    public String generateTokenWithClaims() {
+        return tokenProvider.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return tokenProvider.getUsernameFromToken(token);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jwt.example.benchmark;
+
+import com.jwt.example.security.BulkheadPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt encode/matches at the configured costs, directly and through {@link BulkheadPasswordEncoder} to show the
+ * overhead of the hand-off to the hashing pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    @Param({"false", "true"})
+    public boolean bulkhead;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        int threads = Runtime.getRuntime().availableProcessors();
+        passwordEncoder = bulkhead
+                ? new BulkheadPasswordEncoder(bcrypt, threads, 1000, 60000, new SimpleMeterRegistry())
+                : bcrypt;
+        encodedPassword = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (passwordEncoder instanceof BulkheadPasswordEncoder bulkheadEncoder) {
+            bulkheadEncoder.destroy();
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+}
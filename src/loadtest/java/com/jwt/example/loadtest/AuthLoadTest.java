@@ -0,0 +1,292 @@
+package com.jwt.example.loadtest;
+
+import com.jwt.example.JwtExampleApplication;
+import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserRepository;
+import com.jwt.example.security.JwtTokenProvider;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application on an in-memory H2 database with seeded users and pre-minted tokens, drives a weighted
+ * mix of auth traffic from a fixed number of workers and reports per-endpoint latency percentiles (HdrHistogram)
+ * and throughput. Settings are system properties:
+ * <ul>
+ *     <li>{@code loadtest.users} seeded users (default 1000)</li>
+ *     <li>{@code loadtest.concurrency} concurrent workers (default 32)</li>
+ *     <li>{@code loadtest.rate} total requests per second, spread evenly over the workers; each request is timed
+ *     from when it was scheduled, so queueing in the server shows up in the tail instead of slowing the senders
+ *     down (coordinated omission). 0 (default) runs closed-loop: each worker sends its next request as soon as
+ *     the previous one completes, which under-reports tail latency once the server saturates.</li>
+ *     <li>{@code loadtest.warmup} / {@code loadtest.duration} in seconds (default 10 / 60)</li>
+ *     <li>{@code loadtest.mix} endpoint weights (default {@code login=5,validate=25,profile=50,health=20})</li>
+ *     <li>{@code loadtest.output} directory for {@code .hgrm} percentile files and {@code summary.csv}
+ *     (default {@code target/loadtest})</li>
+ * </ul>
+ * Program arguments are passed to the application, e.g. {@code --jwt.cache.enabled=true}.
+ */
+public class AuthLoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    static final String SUMMARY_FILE = "summary.csv";
+    static final String SUMMARY_HEADER = "endpoint,requests,throughput,errors,p50_ms,p99_ms,p999_ms,max_ms,mode";
+
+    enum Endpoint {
+        LOGIN, VALIDATE, PROFILE, HEALTH
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 1000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "0"));
+        long intervalNanos = rate > 0 ? (long) (1e9 * concurrency / rate) : 0;
+        String mode = rate > 0 ? "fixed-rate:" + rate : "closed-loop";
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadtest.warmup", 10));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("loadtest.duration", 60));
+        Map<Endpoint, Integer> mix = parseMix(System.getProperty("loadtest.mix", "login=5,validate=25,profile=50,health=20"));
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+
+        // Every worker logs in from 127.0.0.1, so the per-IP login throttle would answer most logins with 429.
+        // Pass --auth.login-throttle.enabled=true to measure it anyway.
+        Stream<String> throttle = Arrays.stream(args).anyMatch(arg -> arg.startsWith("--auth.login-throttle.enabled="))
+                ? Stream.empty() : Stream.of("--auth.login-throttle.enabled=false");
+        String[] appArgs = Stream.of(Stream.of(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.com.jwt.example=WARN",
+                "--logging.level.org.springframework.security=WARN"), throttle, Arrays.stream(args))
+                .flatMap(s -> s).toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(JwtExampleApplication.class, appArgs)) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            List<String> usernames = seedUsers(context, users);
+            JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+            List<String> tokens = usernames.stream().map(tokenProvider::generateTokenFromUsername).toList();
+
+            System.out.printf("Seeded %d users; %d workers (%s), %ds warm-up, %ds measured, mix %s%n", users, concurrency,
+                    mode, TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos), mix);
+
+            Workload workload = new Workload(baseUrl, usernames, tokens, mix);
+            long start = System.nanoTime();
+            long measureStart = start + warmupNanos;
+            long end = measureStart + durationNanos;
+
+            List<WorkerResult> results = new ArrayList<>();
+            try (ExecutorService workers = Executors.newFixedThreadPool(concurrency)) {
+                List<Future<WorkerResult>> futures = new ArrayList<>();
+                for (int i = 0; i < concurrency; i++) {
+                    // Staggered so fixed-rate workers do not all send at the same instant.
+                    long firstSend = start + intervalNanos * i / concurrency;
+                    futures.add(workers.submit(() -> workload.run(firstSend, intervalNanos, measureStart, end)));
+                }
+                for (Future<WorkerResult> future : futures) {
+                    results.add(future.get());
+                }
+            }
+
+            report(results, durationNanos, mode, output);
+        }
+    }
+
+    private static List<String> seedUsers(ConfigurableApplicationContext context, int count) {
+        // One hash shared by every seeded user: seeding 1000s of users through signup would take minutes of BCrypt.
+        String encodedPassword = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .username("loadtest_user_" + i)
+                    .email("loadtest_user_" + i + "@example.com")
+                    .fullName("Load Test User " + i)
+                    .password(encodedPassword)
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        return users.stream().map(User::getUsername).toList();
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static void report(List<WorkerResult> results, long durationNanos, String mode, Path output) throws IOException {
+        Files.createDirectories(output);
+        double seconds = durationNanos / 1e9;
+
+        System.out.printf("%n%-10s %10s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        List<String> summary = new ArrayList<>();
+        summary.add(SUMMARY_HEADER);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            long errors = 0;
+            for (WorkerResult result : results) {
+                histogram.add(result.histograms().get(endpoint));
+                errors += result.errors().get(endpoint)[0];
+            }
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            System.out.printf("%-10s %10d %10.1f %9d %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.name().toLowerCase(), histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+            summary.add(String.join(",", endpoint.name().toLowerCase(), String.valueOf(histogram.getTotalCount()),
+                    String.valueOf(histogram.getTotalCount() / seconds), String.valueOf(errors),
+                    String.valueOf(millis(histogram.getValueAtPercentile(50))),
+                    String.valueOf(millis(histogram.getValueAtPercentile(99))),
+                    String.valueOf(millis(histogram.getValueAtPercentile(99.9))),
+                    String.valueOf(millis(histogram.getMaxValue())), mode));
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output.resolve(endpoint.name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        Files.write(output.resolve(SUMMARY_FILE), summary);
+        System.out.println("\nPercentile distributions (ms) written to " + output.toAbsolutePath());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Each worker records into its own histograms, merged once at the end, so recording never contends.
+     */
+    private record WorkerResult(Map<Endpoint, Histogram> histograms, Map<Endpoint, long[]> errors) {
+    }
+
+    private static final class Workload {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final String baseUrl;
+        private final List<String> usernames;
+        private final List<String> tokens;
+        private final Endpoint[] schedule;
+
+        Workload(String baseUrl, List<String> usernames, List<String> tokens, Map<Endpoint, Integer> mix) {
+            this.baseUrl = baseUrl;
+            this.usernames = usernames;
+            this.tokens = tokens;
+            List<Endpoint> slots = new ArrayList<>();
+            mix.forEach((endpoint, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    slots.add(endpoint);
+                }
+            });
+            this.schedule = slots.toArray(Endpoint[]::new);
+        }
+
+        /**
+         * With {@code intervalNanos > 0}, sends at {@code firstSend + k * intervalNanos} and measures from that
+         * intended time, however late the previous response was; otherwise sends back to back.
+         */
+        WorkerResult run(long firstSend, long intervalNanos, long measureStart, long end) {
+            Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+            Map<Endpoint, long[]> errors = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                histograms.put(endpoint, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+                errors.put(endpoint, new long[1]);
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long nextSend = firstSend;
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                if (intervalNanos > 0) {
+                    if (nextSend >= end) {
+                        break;
+                    }
+                    for (long wait = nextSend - now; wait > 0; wait = nextSend - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    now = nextSend;
+                    nextSend += intervalNanos;
+                }
+                Endpoint endpoint = schedule[random.nextInt(schedule.length)];
+                int user = random.nextInt(usernames.size());
+
+                boolean ok;
+                try {
+                    ok = send(request(endpoint, user)) < 300;
+                } catch (IOException ex) {
+                    ok = false;
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                if (now >= measureStart) {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - now);
+                    histograms.get(endpoint).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (!ok) {
+                        errors.get(endpoint)[0]++;
+                    }
+                }
+            }
+            return new WorkerResult(histograms, errors);
+        }
+
+        private HttpRequest request(Endpoint endpoint, int user) {
+            return switch (endpoint) {
+                case LOGIN -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"" + usernames.get(user) + "\",\"password\":\"" + PASSWORD + "\"}"))
+                        .build();
+                case VALIDATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/validate"))
+                        .header("Authorization", "Bearer " + tokens.get(user))
+                        .GET()
+                        .build();
+                case PROFILE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/profile"))
+                        .header("Authorization", "Bearer " + tokens.get(user))
+                        .GET()
+                        .build();
+                case HEALTH -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/public/health"))
+                        .GET()
+                        .build();
+            };
+        }
+
+        private int send(HttpRequest request) throws IOException, InterruptedException {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
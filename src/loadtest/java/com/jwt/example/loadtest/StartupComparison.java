@@ -0,0 +1,192 @@
+package com.jwt.example.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts each packaged variant of the application {@code startup.runs} times (default 5) in a fresh process and
+ * reports the median time until {@code /api/public/health} answers, and the latency of the first signup, login and
+ * authenticated profile request after that. Variants that have not been built are skipped:
+ * <ul>
+ *     <li>{@code jvm}: {@code startup.jar} as is</li>
+ *     <li>{@code aot}: the same jar with {@code -Dspring.aot.enabled=true}, when it was built with {@code -Paot}</li>
+ *     <li>{@code cds}: the extracted jar in {@code startup.cds-dir} with its {@code application.jsa} ({@code -Pcds})</li>
+ *     <li>{@code native}: the {@code startup.native} executable ({@code -Pnative native:compile})</li>
+ * </ul>
+ * Program arguments are passed to the application. Process output goes to {@code target/startup/<variant>-<run>.log}.
+ */
+public class StartupComparison {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/com/jwt/example/JwtExampleApplication__ApplicationContextInitializer.class";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String SIGNUP_BODY =
+            "{\"username\":\"startup\",\"email\":\"startup@example.com\",\"fullName\":\"Startup Check\",\"password\":\"startup-password\"}";
+    private static final String LOGIN_BODY = "{\"username\":\"startup\",\"password\":\"startup-password\"}";
+
+    private record Sample(double readyMs, double signupMs, double loginMs, double profileMs) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path jar = Path.of(System.getProperty("startup.jar", "target/JwtExample-0.0.1-SNAPSHOT.jar"));
+        Path cdsDir = Path.of(System.getProperty("startup.cds-dir", "target/cds"));
+        Path nativeImage = Path.of(System.getProperty("startup.native", "target/jwt-example"));
+        Path output = Path.of("target/startup");
+        Files.createDirectories(output);
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        boolean aot = Files.isRegularFile(jar) && isAotProcessed(jar);
+        if (Files.isRegularFile(jar)) {
+            variants.put("jvm", List.of(java, "-jar", jar.toString()));
+        }
+        if (aot) {
+            variants.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+        }
+        Path archive = cdsDir.resolve("application.jsa");
+        if (Files.isRegularFile(archive)) {
+            List<String> command = new ArrayList<>(List.of(java, "-XX:SharedArchiveFile=" + archive));
+            if (aot) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+            command.addAll(List.of("-jar", cdsDir.resolve(jar.getFileName()).toString()));
+            variants.put(aot ? "cds+aot" : "cds", command);
+        }
+        if (Files.isExecutable(nativeImage)) {
+            variants.put("native", List.of(nativeImage.toString()));
+        }
+        if (variants.isEmpty()) {
+            throw new IllegalStateException("Nothing to compare; build the jar first (mvn -DskipTests package)");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, List<Sample>> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            System.out.println("=== " + variant.getKey() + " ===");
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 1; run <= runs; run++) {
+                Sample sample = run(client, variant.getValue(), args, output.resolve(variant.getKey() + "-" + run + ".log"));
+                System.out.printf("run %d: ready %.0f ms, first signup %.1f ms, login %.1f ms, profile %.1f ms%n",
+                        run, sample.readyMs(), sample.signupMs(), sample.loginMs(), sample.profileMs());
+                samples.add(sample);
+            }
+            results.put(variant.getKey(), samples);
+        }
+
+        System.out.printf("%n%-8s %12s %14s %14s %14s%n", "variant", "ready p50", "signup p50", "login p50", "profile p50");
+        results.forEach((variant, samples) -> System.out.printf("%-8s %9.0f ms %11.1f ms %11.1f ms %11.1f ms%n", variant,
+                median(samples.stream().mapToDouble(Sample::readyMs).toArray()),
+                median(samples.stream().mapToDouble(Sample::signupMs).toArray()),
+                median(samples.stream().mapToDouble(Sample::loginMs).toArray()),
+                median(samples.stream().mapToDouble(Sample::profileMs).toArray())));
+    }
+
+    private static Sample run(HttpClient client, List<String> baseCommand, String[] args, Path log) throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(baseCommand);
+        command.addAll(List.of("--server.port=" + port,
+                "--logging.level.com.jwt.example=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        command.addAll(Arrays.asList(args));
+        String baseUrl = "http://localhost:" + port;
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/api/public/health")).GET().build();
+            while (!isUp(client, health)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Exited with code " + process.exitValue() + " before serving requests; see " + log);
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("Not up after " + STARTUP_TIMEOUT + "; see " + log);
+                }
+                Thread.sleep(5);
+            }
+            double readyMs = millisSince(start);
+
+            long requestStart = System.nanoTime();
+            send(client, post(baseUrl + "/api/auth/signup", SIGNUP_BODY), 201);
+            double signupMs = millisSince(requestStart);
+
+            requestStart = System.nanoTime();
+            String loginResponse = send(client, post(baseUrl + "/api/auth/login", LOGIN_BODY), 200);
+            double loginMs = millisSince(requestStart);
+
+            Matcher token = TOKEN.matcher(loginResponse);
+            if (!token.find()) {
+                throw new IllegalStateException("No token in login response: " + loginResponse);
+            }
+            requestStart = System.nanoTime();
+            send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/profile"))
+                    .header("Authorization", "Bearer " + token.group(1)).GET().build(), 200);
+            double profileMs = millisSince(requestStart);
+
+            return new Sample(readyMs, signupMs, loginMs, profileMs);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static boolean isAotProcessed(Path jar) throws IOException {
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            return jarFile.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static boolean isUp(HttpClient client, HttpRequest health) throws InterruptedException {
+        try {
+            return client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException _) {
+            return false;
+        }
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.uri() + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+}
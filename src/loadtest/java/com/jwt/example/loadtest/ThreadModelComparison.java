@@ -0,0 +1,81 @@
+package com.jwt.example.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link AuthLoadTest} twice, each in a fresh JVM, once on platform threads and once with the {@code virtual}
+ * profile, with the same workload and the same Hikari pool size ({@code loadtest.pool-size}, default 10), then
+ * prints throughput and p99 per endpoint side by side. Results of each run stay in
+ * {@code <loadtest.output>/platform} and {@code <loadtest.output>/virtual}.
+ */
+public class ThreadModelComparison {
+
+    private static final List<String> FORWARDED_PROPERTIES =
+            List.of("loadtest.users", "loadtest.concurrency", "loadtest.warmup", "loadtest.duration", "loadtest.mix",
+                    "loadtest.rate");
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+        String poolSize = System.getProperty("loadtest.pool-size", "10");
+
+        Map<String, Map<String, String[]>> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Path modeOutput = output.resolve(mode);
+            List<String> command = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dloadtest.output=" + modeOutput));
+            for (String property : FORWARDED_PROPERTIES) {
+                if (System.getProperty(property) != null) {
+                    command.add("-D" + property + "=" + System.getProperty(property));
+                }
+            }
+            command.add(AuthLoadTest.class.getName());
+            command.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+            command.add("--spring.datasource.hikari.connection-timeout=5000");
+            if (mode.equals("virtual")) {
+                command.add("--spring.profiles.active=virtual");
+            }
+            command.addAll(List.of(args));
+
+            System.out.println("=== " + mode + " threads ===");
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException(mode + " run failed with exit code " + exitCode);
+            }
+            results.put(mode, readSummary(modeOutput.resolve(AuthLoadTest.SUMMARY_FILE)));
+        }
+
+        Map<String, String[]> platform = results.get("platform");
+        Map<String, String[]> virtual = results.get("virtual");
+        System.out.printf("%n%-10s %14s %14s %14s %14s%n", "endpoint", "platform req/s", "virtual req/s",
+                "platform p99", "virtual p99");
+        for (String endpoint : platform.keySet()) {
+            String[] p = platform.get(endpoint);
+            String[] v = virtual.getOrDefault(endpoint, new String[8]);
+            System.out.printf("%-10s %14.1f %14.1f %11.2f ms %11.2f ms%n", endpoint,
+                    number(p[2]), number(v[2]), number(p[5]), number(v[5]));
+        }
+    }
+
+    private static Map<String, String[]> readSummary(Path file) throws IOException {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.equals(AuthLoadTest.SUMMARY_HEADER)) {
+                String[] fields = line.split(",");
+                rows.put(fields[0], fields);
+            }
+        }
+        return rows;
+    }
+
+    private static double number(String value) {
+        return value == null ? Double.NaN : Double.parseDouble(value);
+    }
+}
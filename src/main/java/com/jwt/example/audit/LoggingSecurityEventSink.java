@@ -0,0 +1,32 @@
+package com.jwt.example.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes the audit trail to the {@code security.audit} logger, so it can be routed to its own appender.
+ */
+@Component
+public class LoggingSecurityEventSink implements SecurityEventSink {
+
+    private static final Logger logger = LoggerFactory.getLogger("security.audit");
+
+    @Override
+    public void write(List<SecurityEvent> events) {
+        for (SecurityEvent event : events) {
+            logger.info("{} reason={} user={} at={} {}", event.type(), event.reason(), event.username(),
+                    event.timestamp(), event.detail() != null ? event.detail() : "");
+        }
+    }
+
+    @Override
+    public void summarize(List<SecurityEventSummary> summaries) {
+        for (SecurityEventSummary summary : summaries) {
+            logger.warn("{} reason={}: {} events in the last {} ms, {} not logged individually", summary.type(),
+                    summary.reason(), summary.count(), summary.windowMillis(), summary.suppressed());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.jwt.example.audit;
+
+/**
+ * One authentication event. {@code reason} is a short, low-cardinality code (e.g. {@code expired}); request-specific
+ * text belongs in {@code detail}. {@code username} and {@code detail} may be null.
+ */
+public record SecurityEvent(SecurityEventType type, String reason, String username, String detail, long timestamp) {
+
+}
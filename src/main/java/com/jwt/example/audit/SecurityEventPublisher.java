@@ -0,0 +1,153 @@
+package com.jwt.example.audit;
+
+import com.jwt.example.util.MpscRingBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes authentication events off request threads. {@link #publish} only offers to a bounded lock-free ring and
+ * drops the event when it is full; a single writer thread drains it in batches. Per summary window, only the first
+ * {@code sample-limit} events of each type and reason are written individually, the rest are reported as one
+ * summary line, so a burst of bad tokens costs a counter increment per request rather than a log line.
+ */
+@Component
+public class SecurityEventPublisher implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityEventPublisher.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MpscRingBuffer<SecurityEvent> buffer;
+    private final SecurityEventSink sink;
+    private final int batchSize;
+    private final long summaryIntervalMs;
+    private final int sampleLimit;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Writer thread only
+    private final Map<EventKey, long[]> windowCounts = new HashMap<>();
+    private long windowStart = System.currentTimeMillis();
+
+    public SecurityEventPublisher(SecurityEventSink sink,
+                                  @Value("${auth.audit.capacity:8192}") int capacity,
+                                  @Value("${auth.audit.batch-size:256}") int batchSize,
+                                  @Value("${auth.audit.summary-interval:10000}") long summaryIntervalMs,
+                                  @Value("${auth.audit.sample-limit:10}") int sampleLimit) {
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.summaryIntervalMs = summaryIntervalMs;
+        this.sampleLimit = sampleLimit;
+        this.writer = Thread.ofPlatform().name("security-audit").daemon(true).start(this::drainLoop);
+    }
+
+    public void publish(SecurityEventType type, String reason, String username, String detail) {
+        if (buffer.offer(new SecurityEvent(type, reason, username, detail, System.currentTimeMillis()))) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public void publish(SecurityEventType type, String reason) {
+        publish(type, reason, null, null);
+    }
+
+    private void drainLoop() {
+        List<SecurityEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                write(batch);
+                batch.clear();
+            }
+
+            if (System.currentTimeMillis() - windowStart >= summaryIntervalMs) {
+                summarize();
+            }
+        }
+        summarize();
+    }
+
+    private void write(List<SecurityEvent> batch) {
+        List<SecurityEvent> sampled = new ArrayList<>(Math.min(batch.size(), sampleLimit));
+        for (SecurityEvent event : batch) {
+            long[] count = windowCounts.computeIfAbsent(new EventKey(event.type(), event.reason()), _ -> new long[1]);
+            if (++count[0] <= sampleLimit) {
+                sampled.add(event);
+            }
+        }
+        if (!sampled.isEmpty()) {
+            try {
+                sink.write(sampled);
+            } catch (RuntimeException ex) {
+                logger.warn("Security audit sink failed to write {} events", sampled.size(), ex);
+            }
+        }
+    }
+
+    private void summarize() {
+        long now = System.currentTimeMillis();
+        List<SecurityEventSummary> summaries = new ArrayList<>();
+        windowCounts.forEach((key, count) -> {
+            if (count[0] > sampleLimit) {
+                summaries.add(new SecurityEventSummary(key.type(), key.reason(), count[0], count[0] - sampleLimit,
+                        now - windowStart));
+            }
+        });
+        windowCounts.clear();
+        windowStart = now;
+
+        if (!summaries.isEmpty()) {
+            try {
+                sink.summarize(summaries);
+            } catch (RuntimeException ex) {
+                logger.warn("Security audit sink failed to write summaries", ex);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.audit.events", published, LongAdder::sum)
+                .tag("result", "published")
+                .description("Security events handed to the audit writer")
+                .register(registry);
+        FunctionCounter.builder("auth.audit.events", dropped, LongAdder::sum)
+                .tag("result", "dropped")
+                .description("Security events handed to the audit writer")
+                .register(registry);
+        Gauge.builder("auth.audit.queue.depth", buffer, MpscRingBuffer::size)
+                .description("Security events waiting for the audit writer")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private record EventKey(SecurityEventType type, String reason) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.jwt.example.audit;
+
+import java.util.List;
+
+/**
+ * Destination of the audit trail. Called only from the {@link SecurityEventPublisher} writer thread.
+ */
+public interface SecurityEventSink {
+
+    void write(List<SecurityEvent> events);
+
+    void summarize(List<SecurityEventSummary> summaries);
+}
@@ -0,0 +1,9 @@
+package com.jwt.example.audit;
+
+/**
+ * Count of events of one type and reason seen during a summary window, of which {@code suppressed} were not written
+ * individually.
+ */
+public record SecurityEventSummary(SecurityEventType type, String reason, long count, long suppressed, long windowMillis) {
+
+}
@@ -0,0 +1,11 @@
+package com.jwt.example.audit;
+
+public enum SecurityEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    SIGNUP,
+    SIGNUP_FAILURE,
+    TOKEN_REJECTED,
+    AUTHENTICATION_REQUIRED,
+    AUTHENTICATION_ERROR
+}
@@ -0,0 +1,67 @@
+package com.jwt.example.config;
+
+import com.jwt.example.controller.UserController;
+import com.jwt.example.dto.ApiResponse;
+import com.jwt.example.dto.BulkImportResult;
+import com.jwt.example.dto.JwtResponse;
+import com.jwt.example.dto.LoginRequest;
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.dto.TokenRefreshRequest;
+import com.jwt.example.dto.UserDTO;
+import com.jwt.example.entity.RefreshToken;
+import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserCredentials;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the native image that Spring AOT cannot infer on its own: payloads that only appear as
+ * {@code ApiResponse.data} ({@code Object}), the entities and query projections, and the jjwt implementation
+ * classes that jjwt-api loads by name or through {@link java.util.ServiceLoader}, plus the migration scripts.
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> JJWT_IMPL_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ApiResponse.class, JwtResponse.class, UserDTO.class, LoginRequest.class, SignUpRequest.class,
+                TokenRefreshRequest.class, BulkImportResult.class, BulkImportResult.RowError.class,
+                UserController.UserInfo.class);
+
+        for (Class<?> entity : List.of(User.class, RefreshToken.class)) {
+            hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.ACCESS_DECLARED_FIELDS);
+        }
+
+        // Instantiated by Hibernate from the constructor expressions in UserRepository.
+        for (Class<?> projection : List.of(UserCredentials.class)) {
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+
+        for (String type : JJWT_IMPL_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        // Flyway's own hints only cover the default db/migration location, not the per-vendor directories.
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
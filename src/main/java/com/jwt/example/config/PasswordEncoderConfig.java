@@ -0,0 +1,47 @@
+package com.jwt.example.config;
+
+import com.jwt.example.security.BCryptCostCalibrator;
+import com.jwt.example.security.BulkheadPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Password encoding shared by the servlet and the reactive security configuration.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password.hashing-threads:0}") int hashingThreads,
+                                           @Value("${auth.password.queue-capacity:100}") int queueCapacity,
+                                           @Value("${auth.password.timeout:5000}") long timeoutMs,
+                                           @Value("${auth.password.bcrypt-strength:10}") int bcryptStrength,
+                                           @Value("${auth.password.calibration.enabled:false}") boolean calibrate,
+                                           @Value("${auth.password.calibration.target-millis:50}") long calibrationTargetMillis,
+                                           @Value("${auth.password.calibration.tolerance:1.5}") double calibrationTolerance,
+                                           @Value("${auth.password.calibration.min-strength:10}") int calibrationMinStrength,
+                                           @Value("${auth.password.calibration.max-strength:16}") int calibrationMaxStrength) {
+        int strength = calibrate
+                ? BCryptCostCalibrator.calibrate(calibrationTargetMillis, calibrationTolerance,
+                        calibrationMinStrength, calibrationMaxStrength)
+                : bcryptStrength;
+
+        // New hashes are stored as {bcrypt}...; legacy unprefixed hashes still match and, like hashes with a
+        // lower cost, are re-encoded on the next successful login through CustomUserDetailsService.updatePassword.
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // By default leave half the cores to token-authenticated traffic during login spikes.
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BulkheadPasswordEncoder(delegatingPasswordEncoder, threads, queueCapacity, timeoutMs, meterRegistry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.jwt.example.config;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.security.AuthenticationMode;
+import com.jwt.example.security.BulkheadPasswordEncoder;
+import com.jwt.example.security.JwtAuthenticationWebFilter;
+import com.jwt.example.security.JwtServerAuthenticationEntryPoint;
+import com.jwt.example.security.JwtTokenProvider;
+import com.jwt.example.security.TokenRevocationStore;
+import com.jwt.example.security.VerifiedTokenCache;
+import com.jwt.example.service.ReactiveCustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * WebFlux counterpart of {@link SecurityConfig}, active with the "reactive" profile. Method security is not enabled:
+ * {@code @PreAuthorize} on the (non-reactive) controllers is replaced by the path rules below.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    public static final String[] PUBLIC_PATHS = {"/api/auth/**", "/api/public/**", "/.well-known/**"};
+
+    /**
+     * Runs blocking JPA calls; sized to the connection pool so queued work waits here instead of in Hikari.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        return Schedulers.newBoundedElastic(poolSize, 10_000, "jdbc");
+    }
+
+    /**
+     * Runs BCrypt; once {@code queue-capacity} tasks are waiting, further ones are rejected and answered with 503.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(@Value("${auth.password.hashing-threads:0}") int hashingThreads,
+                                              @Value("${auth.password.queue-capacity:100}") int queueCapacity) {
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "bcrypt");
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveCustomUserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder,
+                                                                       @Qualifier("passwordHashingScheduler") Scheduler passwordHashingScheduler) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        // The scheduler is the bulkhead here; the blocking BulkheadPasswordEncoder would park a scheduler thread.
+        authenticationManager.setPasswordEncoder(passwordEncoder instanceof BulkheadPasswordEncoder bulkhead
+                ? bulkhead.getDelegate()
+                : passwordEncoder);
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        authenticationManager.setUserDetailsPasswordService(userDetailsService);
+        return authenticationManager;
+    }
+
+    @Bean
+    public JwtAuthenticationWebFilter jwtAuthenticationWebFilter(JwtTokenProvider jwtTokenProvider, VerifiedTokenCache verifiedTokenCache,
+                                                                 TokenRevocationStore tokenRevocationStore,
+                                                                 ReactiveCustomUserDetailsService userDetailsService,
+                                                                 @Value("${jwt.authentication-mode:LOOKUP}") AuthenticationMode authenticationMode,
+                                                                 MeterRegistry meterRegistry, SecurityEventPublisher securityEventPublisher) {
+        return new JwtAuthenticationWebFilter(jwtTokenProvider, verifiedTokenCache, tokenRevocationStore, userDetailsService,
+                authenticationMode, meterRegistry, securityEventPublisher, ServerWebExchangeMatchers.pathMatchers(PUBLIC_PATHS));
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtAuthenticationWebFilter jwtAuthenticationWebFilter,
+                                                         SecurityEventPublisher securityEventPublisher) {
+        http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptionHandling -> exceptionHandling
+                .authenticationEntryPoint(new JwtServerAuthenticationEntryPoint(securityEventPublisher)))
+            .authorizeExchange(authz -> authz
+                .pathMatchers(HttpMethod.OPTIONS).permitAll()
+                .pathMatchers(PUBLIC_PATHS).permitAll()
+                .pathMatchers("/api/user/**").hasRole("USER")
+                .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                .anyExchange().authenticated()
+            )
+            .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+
+    // Same policy as CorsConfig, which only applies to Spring MVC.
+    private static CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("*"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("*"));
+        configuration.setMaxAge(3600L);
+        configuration.setAllowCredentials(false);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", configuration);
+        return source;
+    }
+}
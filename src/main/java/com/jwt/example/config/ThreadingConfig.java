@@ -0,0 +1,19 @@
+package com.jwt.example.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Carries the submitting request's SecurityContext into tasks on the application task executor (MVC async
+     * requests, @Async), on platform and virtual threads alike, without an inheritable thread-local strategy.
+     */
+    @Bean
+    public TaskDecorator securityContextTaskDecorator() {
+        return DelegatingSecurityContextRunnable::new;
+    }
+}
@@ -0,0 +1,137 @@
+package com.jwt.example.controller;
+
+import com.jwt.example.dto.ApiResponse;
+import com.jwt.example.dto.BulkImportResult;
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.service.UserImportService;
+import com.jwt.example.util.CsvReader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class AdminController {
+
+    private static final List<String> CSV_HEADER = List.of("username", "email", "fullName", "password");
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    public AdminController(UserImportService userImportService, ObjectMapper objectMapper) {
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Imports users from CSV with the header {@code username,email,fullName,password}. The body is streamed, so
+     * only one chunk of rows is held in memory at a time.
+     */
+    @PostMapping(value = "/users/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> importCsv(InputStream body) throws IOException {
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = reader.readRecord();
+        if (header == null || !CSV_HEADER.equals(header.stream().map(String::trim).toList())) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "CSV header must be " + String.join(",", CSV_HEADER)));
+        }
+
+        try {
+            return imported(userImportService.importUsers(new CsvRows(reader)));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Imports users from a JSON array of signup requests. Like the CSV import, the body is streamed: elements are
+     * bound one at a time as the import pulls them.
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> importJson(InputStream body) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return ResponseEntity.badRequest().body(new ApiResponse(false, "JSON body must be an array of users"));
+            }
+            // Positioned on the first element, the iterator reads the array's elements rather than the array.
+            Iterator<SignUpRequest> rows = parser.nextToken() == JsonToken.END_ARRAY
+                    ? Collections.emptyIterator()
+                    : objectMapper.readerFor(SignUpRequest.class).readValues(parser);
+            return imported(userImportService.importUsers(rows));
+        } catch (JacksonException ex) {
+            return ResponseEntity.badRequest().body(new ApiResponse(false, "Invalid JSON: " + ex.getOriginalMessage()));
+        }
+    }
+
+    private static ResponseEntity<ApiResponse> imported(BulkImportResult result) {
+        return ResponseEntity.ok(new ApiResponse(true,
+                "Imported " + result.getImported() + " users, " + result.getFailed() + " failed", result));
+    }
+
+    private static final class CsvRows implements Iterator<SignUpRequest> {
+
+        private final CsvReader reader;
+        private List<String> next;
+
+        CsvRows(CsvReader reader) {
+            this.reader = reader;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public SignUpRequest next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = next;
+            advance();
+            return SignUpRequest.builder()
+                    .username(field(fields, 0))
+                    .email(field(fields, 1))
+                    .fullName(field(fields, 2))
+                    .password(field(fields, 3))
+                    .build();
+        }
+
+        private void advance() {
+            try {
+                next = reader.readRecord();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
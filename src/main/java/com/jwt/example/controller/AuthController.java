@@ -1,22 +1,43 @@
 package com.jwt.example.controller;
 
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
 import com.jwt.example.dto.ApiResponse;
 import com.jwt.example.dto.JwtResponse;
 import com.jwt.example.dto.LoginRequest;
 import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.dto.TokenRefreshRequest;
 import com.jwt.example.dto.UserDTO;
 import com.jwt.example.entity.User;
+import com.jwt.example.exception.LoginThrottledException;
+import com.jwt.example.exception.PasswordHashingUnavailableException;
+import com.jwt.example.exception.UserAlreadyExistsException;
+import com.jwt.example.mapper.UserMapper;
 import com.jwt.example.security.JwtTokenProvider;
+import com.jwt.example.security.LoginThrottle;
+import com.jwt.example.security.TokenRevocationStore;
+import com.jwt.example.security.TokenValidationResult;
+import com.jwt.example.security.UserPrincipal;
+import com.jwt.example.security.VerifiedToken;
+import com.jwt.example.service.CustomUserDetailsService;
+import com.jwt.example.service.RefreshTokenService;
 import com.jwt.example.service.UserService;
+import com.jwt.example.util.OutcomeTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -25,7 +46,11 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Locale;
+import java.util.Optional;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class AuthController {
@@ -34,31 +59,66 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
+    private final UserMapper userMapper;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final OutcomeTimers<LoginOutcome> loginTimers;
+    private final OutcomeTimers<SignupOutcome> signupTimers;
+    private final SecurityEventPublisher securityEvents;
+    private final LoginThrottle loginThrottle;
+
+    /**
+     * Unknown usernames surface as bad credentials (Spring Security hides them); {@code auth.user.load} tells them apart.
+     */
+    enum LoginOutcome {
+        SUCCESS, BAD_CREDENTIALS, DISABLED, REJECTED, THROTTLED, UNAVAILABLE, ERROR
+    }
+
+    enum SignupOutcome {
+        SUCCESS, CONFLICT, UNAVAILABLE, ERROR
+    }
 
-    public AuthController(AuthenticationManager authenticationManager, UserService userService, JwtTokenProvider jwtTokenProvider) {
+    public AuthController(AuthenticationManager authenticationManager, UserService userService, UserMapper userMapper,
+                          JwtTokenProvider jwtTokenProvider,
+                          RefreshTokenService refreshTokenService, CustomUserDetailsService userDetailsService,
+                          TokenRevocationStore tokenRevocationStore, MeterRegistry meterRegistry,
+                          SecurityEventPublisher securityEvents, LoginThrottle loginThrottle) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
+        this.userMapper = userMapper;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.securityEvents = securityEvents;
+        this.loginThrottle = loginThrottle;
+        this.loginTimers = new OutcomeTimers<>(meterRegistry, "auth.login",
+                "Login requests, including password verification and token issuing", LoginOutcome.class);
+        this.signupTimers = new OutcomeTimers<>(meterRegistry, "auth.signup",
+                "Signup requests, including password hashing and the insert", SignupOutcome.class);
     }
 
     @PostMapping("/signup")
     public ResponseEntity<ApiResponse> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        long start = System.nanoTime();
         try {
             User user = userService.createUser(signUpRequest);
-            UserDTO userDTO = UserDTO.builder()
-                    .id(user.getId())
-                    .username(user.getUsername())
-                    .email(user.getEmail())
-                    .fullName(user.getFullName())
-                    .enabled(user.getEnabled())
-                    .createdAt(user.getCreatedAt())
-                    .updatedAt(user.getUpdatedAt())
-                    .build();
+            UserDTO userDTO = userMapper.toDTO(user);
+            signedUp(SignupOutcome.SUCCESS, start, signUpRequest.getUsername());
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(new ApiResponse(true, "User registered successfully", userDTO));
+        } catch (PasswordHashingUnavailableException e) {
+            signedUp(SignupOutcome.UNAVAILABLE, start, signUpRequest.getUsername());
+            throw e;
         } catch (Exception e) {
-            logger.error("Signup Error: {} - {}", e.getClass().getName(), e.getMessage(), e);
+            if (e instanceof UserAlreadyExistsException) {
+                signedUp(SignupOutcome.CONFLICT, start, signUpRequest.getUsername());
+            } else {
+                signedUp(SignupOutcome.ERROR, start, signUpRequest.getUsername());
+                logger.error("Signup Error: {} - {}", e.getClass().getName(), e.getMessage(), e);
+            }
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, "Signup failed: " + e.getClass().getSimpleName() + " - " + e.getMessage()));
         }
@@ -68,8 +128,13 @@ public class AuthController {
 
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<ApiResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                        HttpServletRequest request) {
+        long start = System.nanoTime();
         try {
+            // Before the AuthenticationManager, so throttled attempts never reach BCrypt.
+            loginThrottle.acquire(loginRequest.getUsername(), request.getRemoteAddr());
+
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getUsername(),
@@ -77,42 +142,115 @@ public class AuthController {
                     )
             );
 
-            User user = userService.findByUsername(loginRequest.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // The principal loaded by the AuthenticationManager already carries everything the response needs.
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-            String jwt = jwtTokenProvider.generateToken(authentication.getName());
+            String jwt = jwtTokenProvider.generateToken(userPrincipal);
 
-            JwtResponse jwtResponse = new JwtResponse(jwt, user.getUsername(), user.getEmail());
-            jwtResponse.setExpiresIn(86400000L); // 24 hours in milliseconds
+            JwtResponse jwtResponse = new JwtResponse(jwt, userPrincipal.getUsername(), userPrincipal.getEmail());
+            jwtResponse.setRefreshToken(refreshTokenService.issue(userPrincipal.getUsername()));
+            jwtResponse.setExpiresIn(jwtTokenProvider.getExpirationMs());
 
+            loggedIn(LoginOutcome.SUCCESS, start, loginRequest.getUsername());
             return ResponseEntity.ok(new ApiResponse(true, "Login successful", jwtResponse));
 
         } catch (AuthenticationException e) {
+            loggedIn(switch (e) {
+                case BadCredentialsException _ -> LoginOutcome.BAD_CREDENTIALS;
+                case DisabledException _ -> LoginOutcome.DISABLED;
+                default -> LoginOutcome.REJECTED;
+            }, start, loginRequest.getUsername());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse(false, "Invalid username or password"));
+        } catch (LoginThrottledException e) {
+            loggedIn(LoginOutcome.THROTTLED, start, loginRequest.getUsername());
+            throw e;
+        } catch (PasswordHashingUnavailableException e) {
+            loggedIn(LoginOutcome.UNAVAILABLE, start, loginRequest.getUsername());
+            throw e;
         } catch (Exception e) {
+            loggedIn(LoginOutcome.ERROR, start, loginRequest.getUsername());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, e.getMessage()));
         }
     }
 
+    private void loggedIn(LoginOutcome outcome, long start, String username) {
+        loginTimers.record(outcome, start);
+        securityEvents.publish(outcome == LoginOutcome.SUCCESS ? SecurityEventType.LOGIN_SUCCESS : SecurityEventType.LOGIN_FAILURE,
+                outcome.name().toLowerCase(Locale.ROOT), username, null);
+    }
+
+    private void signedUp(SignupOutcome outcome, long start, String username) {
+        signupTimers.record(outcome, start);
+        securityEvents.publish(outcome == SignupOutcome.SUCCESS ? SecurityEventType.SIGNUP : SecurityEventType.SIGNUP_FAILURE,
+                outcome.name().toLowerCase(Locale.ROOT), username, null);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest tokenRefreshRequest) {
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotate(tokenRefreshRequest.getRefreshToken());
+
+        UserPrincipal userPrincipal = userDetailsService.loadUserByUsername(rotated.username());
+        if (!userPrincipal.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, "User account is disabled"));
+        }
+
+        JwtResponse jwtResponse = new JwtResponse(jwtTokenProvider.generateToken(userPrincipal),
+                userPrincipal.getUsername(), userPrincipal.getEmail());
+        jwtResponse.setRefreshToken(rotated.refreshToken());
+        jwtResponse.setExpiresIn(jwtTokenProvider.getExpirationMs());
+
+        return ResponseEntity.ok(new ApiResponse(true, "Token refreshed", jwtResponse));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(@RequestHeader("Authorization") String bearerToken,
+                                              @RequestBody(required = false) TokenRefreshRequest tokenRefreshRequest) {
+        Optional<VerifiedToken> verifiedToken = bearerToken.startsWith("Bearer ")
+                ? jwtTokenProvider.verifyToken(bearerToken.substring(7))
+                : Optional.empty();
+
+        if (verifiedToken.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, "Invalid token"));
+        }
+
+        tokenRevocationStore.revoke(verifiedToken.get().tokenId(), verifiedToken.get().expiration().getTime());
+        if (tokenRefreshRequest != null && StringUtils.hasText(tokenRefreshRequest.getRefreshToken())) {
+            refreshTokenService.revoke(tokenRefreshRequest.getRefreshToken());
+        }
+
+        return ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
+    }
+
     @GetMapping("/validate")
     public ResponseEntity<ApiResponse> validateToken(@RequestHeader("Authorization") String bearerToken) {
-        try {
-            String token = bearerToken.substring(7);
-            boolean isValid = jwtTokenProvider.validateToken(token);
+        return validationResponse(bearerToken, jwtTokenProvider, tokenRevocationStore);
+    }
 
-            if (isValid) {
-                String username = jwtTokenProvider.getUsernameFromToken(token);
-                return ResponseEntity.ok(new ApiResponse(true, "Token is valid", username));
-            } else {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(new ApiResponse(false, "Invalid token"));
-            }
-        } catch (Exception _) {
+    /**
+     * Answers {@code /validate} from the validation result, so junk tokens cost no exceptions on this path.
+     */
+    static ResponseEntity<ApiResponse> validationResponse(String bearerToken, JwtTokenProvider jwtTokenProvider,
+                                                          TokenRevocationStore tokenRevocationStore) {
+        if (!bearerToken.startsWith("Bearer ")) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ApiResponse(false, "Invalid token format"));
         }
+
+        TokenValidationResult result = jwtTokenProvider.validate(bearerToken.substring(7));
+        String message = switch (result.status()) {
+            case VALID -> tokenRevocationStore.isRevoked(result.token().tokenId()) ? "Invalid token" : null;
+            case EXPIRED -> "Token expired";
+            default -> "Invalid token";
+        };
+        if (message == null) {
+            return ResponseEntity.ok(new ApiResponse(true, "Token is valid", result.token().subject()));
+        }
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse(false, message));
     }
 }
 
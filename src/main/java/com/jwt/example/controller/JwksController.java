@@ -0,0 +1,34 @@
+package com.jwt.example.controller;
+
+import com.jwt.example.security.JwtSigningKeys;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    public JwksController(JwtSigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+    }
+
+    // Publish a new key at least max-age before making it the active signing key.
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1))
+                        .cachePublic()
+                        .staleWhileRevalidate(Duration.ofMinutes(10)))
+                .eTag(signingKeys.getJwksETag())
+                .body(signingKeys.getJwks());
+    }
+}
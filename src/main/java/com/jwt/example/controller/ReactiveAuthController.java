@@ -0,0 +1,257 @@
+package com.jwt.example.controller;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
+import com.jwt.example.controller.AuthController.LoginOutcome;
+import com.jwt.example.controller.AuthController.SignupOutcome;
+import com.jwt.example.dto.ApiResponse;
+import com.jwt.example.dto.JwtResponse;
+import com.jwt.example.dto.LoginRequest;
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.dto.TokenRefreshRequest;
+import com.jwt.example.exception.LoginThrottledException;
+import com.jwt.example.exception.PasswordHashingUnavailableException;
+import com.jwt.example.exception.UserAlreadyExistsException;
+import com.jwt.example.mapper.UserMapper;
+import com.jwt.example.security.BulkheadPasswordEncoder;
+import com.jwt.example.security.JwtTokenProvider;
+import com.jwt.example.security.LoginThrottle;
+import com.jwt.example.security.TokenRevocationStore;
+import com.jwt.example.security.UserPrincipal;
+import com.jwt.example.security.VerifiedToken;
+import com.jwt.example.service.ReactiveCustomUserDetailsService;
+import com.jwt.example.service.RefreshTokenService;
+import com.jwt.example.service.UserService;
+import com.jwt.example.util.OutcomeTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.InetSocketAddress;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of {@link AuthController}, with the same endpoints, responses, timers and security events.
+ * Nothing blocks an event-loop thread: BCrypt runs on {@code passwordHashingScheduler} and JPA on {@code jdbcScheduler}.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthController.class);
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final ReactiveCustomUserDetailsService userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final LoginThrottle loginThrottle;
+    private final SecurityEventPublisher securityEvents;
+    private final Scheduler jdbcScheduler;
+    private final Scheduler passwordHashingScheduler;
+    private final OutcomeTimers<LoginOutcome> loginTimers;
+    private final OutcomeTimers<SignupOutcome> signupTimers;
+
+    public ReactiveAuthController(ReactiveAuthenticationManager authenticationManager, UserService userService,
+                                  UserMapper userMapper, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider,
+                                  RefreshTokenService refreshTokenService, ReactiveCustomUserDetailsService userDetailsService,
+                                  TokenRevocationStore tokenRevocationStore, LoginThrottle loginThrottle,
+                                  SecurityEventPublisher securityEvents, MeterRegistry meterRegistry,
+                                  @Qualifier("jdbcScheduler") Scheduler jdbcScheduler,
+                                  @Qualifier("passwordHashingScheduler") Scheduler passwordHashingScheduler) {
+        this.authenticationManager = authenticationManager;
+        this.userService = userService;
+        this.userMapper = userMapper;
+        // The scheduler bounds hashing; the blocking bulkhead around the encoder would only park its threads.
+        this.passwordEncoder = passwordEncoder instanceof BulkheadPasswordEncoder bulkhead ? bulkhead.getDelegate() : passwordEncoder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.loginThrottle = loginThrottle;
+        this.securityEvents = securityEvents;
+        this.jdbcScheduler = jdbcScheduler;
+        this.passwordHashingScheduler = passwordHashingScheduler;
+        this.loginTimers = new OutcomeTimers<>(meterRegistry, "auth.login",
+                "Login requests, including password verification and token issuing", LoginOutcome.class);
+        this.signupTimers = new OutcomeTimers<>(meterRegistry, "auth.signup",
+                "Signup requests, including password hashing and the insert", SignupOutcome.class);
+    }
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<ApiResponse>> registerUser(@Valid @RequestBody SignUpRequest signUpRequest) {
+        long start = System.nanoTime();
+        return Mono.fromCallable(() -> passwordEncoder.encode(signUpRequest.getPassword()))
+                .subscribeOn(passwordHashingScheduler)
+                .flatMap(encodedPassword -> Mono.fromCallable(() -> userService.createUser(signUpRequest, encodedPassword))
+                        .subscribeOn(jdbcScheduler))
+                .map(user -> {
+                    signedUp(SignupOutcome.SUCCESS, start, signUpRequest.getUsername());
+                    return ResponseEntity.status(HttpStatus.CREATED)
+                            .body(new ApiResponse(true, "User registered successfully", userMapper.toDTO(user)));
+                })
+                .onErrorResume(e -> switch (e) {
+                    case RejectedExecutionException _ -> {
+                        signedUp(SignupOutcome.UNAVAILABLE, start, signUpRequest.getUsername());
+                        yield Mono.error(new PasswordHashingUnavailableException("Password hashing capacity exhausted", e));
+                    }
+                    case UserAlreadyExistsException _ -> {
+                        signedUp(SignupOutcome.CONFLICT, start, signUpRequest.getUsername());
+                        yield Mono.just(signupFailed(e));
+                    }
+                    default -> {
+                        signedUp(SignupOutcome.ERROR, start, signUpRequest.getUsername());
+                        logger.error("Signup Error: {} - {}", e.getClass().getName(), e.getMessage(), e);
+                        yield Mono.just(signupFailed(e));
+                    }
+                });
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponse>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                              ServerWebExchange exchange) {
+        long start = System.nanoTime();
+        return Mono.defer(() -> {
+                    // Before the AuthenticationManager, so throttled attempts never reach BCrypt.
+                    loginThrottle.acquire(loginRequest.getUsername(), clientIp(exchange));
+                    return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(), loginRequest.getPassword()));
+                })
+                .flatMap(authentication -> {
+                    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+                    JwtResponse jwtResponse = new JwtResponse(jwtTokenProvider.generateToken(userPrincipal),
+                            userPrincipal.getUsername(), userPrincipal.getEmail());
+                    jwtResponse.setExpiresIn(jwtTokenProvider.getExpirationMs());
+                    return Mono.fromCallable(() -> refreshTokenService.issue(userPrincipal.getUsername()))
+                            .subscribeOn(jdbcScheduler)
+                            .map(refreshToken -> {
+                                jwtResponse.setRefreshToken(refreshToken);
+                                loggedIn(LoginOutcome.SUCCESS, start, loginRequest.getUsername());
+                                return ResponseEntity.ok(new ApiResponse(true, "Login successful", jwtResponse));
+                            });
+                })
+                .onErrorResume(e -> switch (e) {
+                    case AuthenticationException _ -> {
+                        loggedIn(switch (e) {
+                            case BadCredentialsException _ -> LoginOutcome.BAD_CREDENTIALS;
+                            case DisabledException _ -> LoginOutcome.DISABLED;
+                            default -> LoginOutcome.REJECTED;
+                        }, start, loginRequest.getUsername());
+                        yield Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                .body(new ApiResponse(false, "Invalid username or password")));
+                    }
+                    case LoginThrottledException _ -> {
+                        loggedIn(LoginOutcome.THROTTLED, start, loginRequest.getUsername());
+                        yield Mono.error(e);
+                    }
+                    case RejectedExecutionException _ -> {
+                        loggedIn(LoginOutcome.UNAVAILABLE, start, loginRequest.getUsername());
+                        yield Mono.error(new PasswordHashingUnavailableException("Password hashing capacity exhausted", e));
+                    }
+                    default -> {
+                        loggedIn(LoginOutcome.ERROR, start, loginRequest.getUsername());
+                        yield Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body(new ApiResponse(false, e.getMessage())));
+                    }
+                });
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<ApiResponse>> refreshToken(@Valid @RequestBody TokenRefreshRequest tokenRefreshRequest) {
+        return Mono.fromCallable(() -> refreshTokenService.rotate(tokenRefreshRequest.getRefreshToken()))
+                .subscribeOn(jdbcScheduler)
+                .flatMap(rotated -> userDetailsService.findByUsername(rotated.username())
+                        .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException(
+                                "User not found with username: " + rotated.username())))
+                        .cast(UserPrincipal.class)
+                        .map(userPrincipal -> {
+                            if (!userPrincipal.isEnabled()) {
+                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                                        .body(new ApiResponse(false, "User account is disabled"));
+                            }
+                            JwtResponse jwtResponse = new JwtResponse(jwtTokenProvider.generateToken(userPrincipal),
+                                    userPrincipal.getUsername(), userPrincipal.getEmail());
+                            jwtResponse.setRefreshToken(rotated.refreshToken());
+                            jwtResponse.setExpiresIn(jwtTokenProvider.getExpirationMs());
+                            return ResponseEntity.ok(new ApiResponse(true, "Token refreshed", jwtResponse));
+                        }));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiResponse>> logout(@RequestHeader("Authorization") String bearerToken,
+                                                    @RequestBody(required = false) TokenRefreshRequest tokenRefreshRequest) {
+        Optional<VerifiedToken> verifiedToken = bearerToken.startsWith("Bearer ")
+                ? jwtTokenProvider.verifyToken(bearerToken.substring(7))
+                : Optional.empty();
+
+        if (verifiedToken.isEmpty()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ApiResponse(false, "Invalid token")));
+        }
+
+        tokenRevocationStore.revoke(verifiedToken.get().tokenId(), verifiedToken.get().expiration().getTime());
+        ResponseEntity<ApiResponse> loggedOut = ResponseEntity.ok(new ApiResponse(true, "Logged out successfully"));
+        if (tokenRefreshRequest == null || !StringUtils.hasText(tokenRefreshRequest.getRefreshToken())) {
+            return Mono.just(loggedOut);
+        }
+        return Mono.fromRunnable(() -> refreshTokenService.revoke(tokenRefreshRequest.getRefreshToken()))
+                .subscribeOn(jdbcScheduler)
+                .thenReturn(loggedOut);
+    }
+
+    @GetMapping("/validate")
+    public Mono<ResponseEntity<ApiResponse>> validateToken(@RequestHeader("Authorization") String bearerToken) {
+        // Verification and the revocation check are in-memory, so this stays on the calling thread.
+        return Mono.just(AuthController.validationResponse(bearerToken, jwtTokenProvider, tokenRevocationStore));
+    }
+
+    private void loggedIn(LoginOutcome outcome, long start, String username) {
+        loginTimers.record(outcome, start);
+        securityEvents.publish(outcome == LoginOutcome.SUCCESS ? SecurityEventType.LOGIN_SUCCESS : SecurityEventType.LOGIN_FAILURE,
+                outcome.name().toLowerCase(Locale.ROOT), username, null);
+    }
+
+    private void signedUp(SignupOutcome outcome, long start, String username) {
+        signupTimers.record(outcome, start);
+        securityEvents.publish(outcome == SignupOutcome.SUCCESS ? SecurityEventType.SIGNUP : SecurityEventType.SIGNUP_FAILURE,
+                outcome.name().toLowerCase(Locale.ROOT), username, null);
+    }
+
+    private static ResponseEntity<ApiResponse> signupFailed(Throwable e) {
+        return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, "Signup failed: " + e.getClass().getSimpleName() + " - " + e.getMessage()));
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null ? remoteAddress.getHostString() : "unknown";
+    }
+}
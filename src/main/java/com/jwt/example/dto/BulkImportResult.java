@@ -0,0 +1,25 @@
+package com.jwt.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResult {
+
+    private long imported;
+    private long failed;
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    public record RowError(long row, String username, String message) {
+
+    }
+}
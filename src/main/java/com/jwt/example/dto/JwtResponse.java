@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 public class JwtResponse {
 
     private String token;
+    private String refreshToken;
     private String type;
     private String username;
     private String email;
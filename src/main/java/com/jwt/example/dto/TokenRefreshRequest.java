@@ -0,0 +1,17 @@
+package com.jwt.example.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRefreshRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
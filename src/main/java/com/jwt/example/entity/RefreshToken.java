@@ -0,0 +1,51 @@
+package com.jwt.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the opaque token; the token itself is only ever held by the client.
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false)
+    private String username;
+
+    // Every token obtained by rotating the same login shares a family, so reuse can revoke the whole chain.
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    @Column(nullable = false)
+    private Boolean revoked;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Long createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = System.currentTimeMillis();
+        if (revoked == null) {
+            revoked = false;
+        }
+    }
+}
@@ -6,24 +6,37 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// The schema comes from the Flyway migrations in db/migration/<vendor>; the constraint names here must match them.
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
 
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    // A pooled sequence (rather than IDENTITY) lets Hibernate assign ids up front and batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    // Generated by the database as upper(email) and indexed, for findByEmailIgnoreCase.
+    @Column(name = "email_upper", insertable = false, updatable = false)
+    private String emailUpper;
+
     @Column(nullable = false)
     private String password;
 
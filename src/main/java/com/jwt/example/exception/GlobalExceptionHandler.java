@@ -1,6 +1,7 @@
 package com.jwt.example.exception;
 
 import com.jwt.example.dto.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -8,6 +9,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -55,6 +57,20 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ApiResponse> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse(false, "Service is busy, please retry shortly"));
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ApiResponse> handleLoginThrottledException(LoginThrottledException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponse(false, ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse> handleValidationException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -67,6 +83,19 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // WebFlux reports @Valid failures with its own exception type (reactive profile).
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse> handleWebExchangeBindException(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+        return new ResponseEntity<>(
+                new ApiResponse(false, "Validation failed", errors),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiResponse> handleRuntimeException(RuntimeException ex) {
         return new ResponseEntity<>(
@@ -2,11 +2,11 @@ package com.jwt.example.exception;
 
 public class InvalidTokenException extends RuntimeException {
     public InvalidTokenException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public InvalidTokenException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
 
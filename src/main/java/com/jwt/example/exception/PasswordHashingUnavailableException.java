@@ -0,0 +1,11 @@
+package com.jwt.example.exception;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -2,11 +2,11 @@ package com.jwt.example.exception;
 
 public class TokenExpiredException extends RuntimeException {
     public TokenExpiredException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public TokenExpiredException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
 
@@ -0,0 +1,34 @@
+package com.jwt.example.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Non-blocking facade over {@link UserRepository} for the reactive stack. JPA stays blocking, so each call runs on
+ * the bounded {@code jdbcScheduler} (sized to the connection pool) and never on an event-loop thread.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserRepository {
+
+    private final UserRepository userRepository;
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveUserRepository(UserRepository userRepository, @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.userRepository = userRepository;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    public Mono<UserCredentials> findCredentialsByUsername(String username) {
+        return Mono.fromCallable(() -> userRepository.findCredentialsByUsername(username).orElse(null))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    public Mono<Integer> updatePassword(String username, String password, long updatedAt) {
+        return Mono.fromCallable(() -> userRepository.updatePassword(username, password, updatedAt))
+                .subscribeOn(jdbcScheduler);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jwt.example.repository;
+
+/**
+ * The columns authentication needs, read without materialising a managed {@code User} entity.
+ */
+public record UserCredentials(String username, String password, String email, boolean enabled) {
+}
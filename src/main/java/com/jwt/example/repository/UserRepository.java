@@ -1,16 +1,47 @@
 package com.jwt.example.repository;
 
 import com.jwt.example.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+    // email_upper is generated as upper(email) and indexed (idx_users_email_upper) on every database
+    @Query("select u from User u where u.emailUpper = upper(:email)")
+    Optional<User> findByEmailIgnoreCase(@Param("email") String email);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
+
+    // Constructor projections: no managed entity, no snapshot for dirty checking, no flush on read.
+    @Transactional(readOnly = true)
+    @Query("select new com.jwt.example.repository.UserCredentials(u.username, u.password, u.email, u.enabled) "
+            + "from User u where u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.jwt.example.repository.UserCredentials(u.username, u.password, u.email, u.enabled) from User u")
+    List<UserCredentials> findCredentials(Pageable pageable);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password, u.updatedAt = :updatedAt where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password, @Param("updatedAt") Long updatedAt);
 }
 
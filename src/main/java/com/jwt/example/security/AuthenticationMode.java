@@ -0,0 +1,13 @@
+package com.jwt.example.security;
+
+/**
+ * How {@link JwtAuthenticationFilter} turns a verified token into an {@code Authentication}.
+ */
+public enum AuthenticationMode {
+
+    /** Reload the user through the {@code UserDetailsService} on every request. */
+    LOOKUP,
+
+    /** Trust the authorities and enabled flag embedded in the token at login; no per-request user lookup. */
+    CLAIMS
+}
@@ -0,0 +1,60 @@
+package com.jwt.example.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this host stays within a target, so the CPU/security trade-off
+ * is chosen per deployment rather than hard-coded. Each cost step doubles the work, so one measurement at the
+ * minimum cost is extrapolated and then checked once at the chosen cost. That check is a single sample, so it
+ * accepts up to {@code tolerance} times the target before stepping down, rather than halving the cost on noise;
+ * a tolerance of 1 enforces the target exactly.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, double tolerance, int minStrength, int maxStrength) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("tolerance must be at least 1");
+        }
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+
+        measure(minStrength); // warm-up
+        long[] samples = {measure(minStrength), measure(minStrength), measure(minStrength)};
+        Arrays.sort(samples);
+
+        int strength = minStrength;
+        long estimate = samples[1];
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            strength++;
+            estimate *= 2;
+        }
+
+        long measured = measure(strength);
+        logger.info("BCrypt cost {} measured at {} ms (target {} ms)",
+                strength, TimeUnit.NANOSECONDS.toMillis(measured), targetMillis);
+        if (strength > minStrength && measured > targetNanos * tolerance) {
+            strength--;
+        }
+
+        logger.info("Calibrated BCrypt cost to {}", strength);
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        String salt = BCrypt.gensalt(strength);
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        return System.nanoTime() - start;
+    }
+}
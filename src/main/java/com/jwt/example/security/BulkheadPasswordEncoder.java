@@ -0,0 +1,116 @@
+package com.jwt.example.security;
+
+import com.jwt.example.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool so a login storm cannot occupy every
+ * request thread. When the pool and its queue are full, callers fail fast with
+ * {@link PasswordHashingUnavailableException} instead of waiting.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .description("Time spent hashing passwords on the bulkhead pool")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .description("Time spent hashing passwords on the bulkhead pool")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.password.rejections")
+                .description("Password hashing requests rejected because the bulkhead was full or timed out")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing threads currently busy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * The wrapped encoder, for bulk work that runs on its own pool and must not compete with logins for the bulkhead.
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException ex) {
+            rejections.increment();
+            throw new PasswordHashingUnavailableException("Password hashing capacity exhausted", ex);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejections.increment();
+            throw new PasswordHashingUnavailableException("Password hashing timed out", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+}
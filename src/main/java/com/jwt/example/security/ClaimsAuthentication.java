@@ -0,0 +1,56 @@
+package com.jwt.example.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the authentication for {@link AuthenticationMode#CLAIMS} from a token's roles and enabled claims, for both
+ * {@link JwtAuthenticationFilter} and {@link JwtAuthenticationWebFilter}.
+ */
+class ClaimsAuthentication {
+
+    // Distinct role combinations are few; the bound only guards against tokens with arbitrary claims.
+    private static final int MAX_AUTHORITY_LISTS = 256;
+
+    private final ConcurrentMap<List<String>, List<GrantedAuthority>> authorityLists = new ConcurrentHashMap<>();
+
+    /**
+     * Tokens issued before claims mode was switched on carry no authorities and need a user lookup instead.
+     */
+    static boolean hasClaims(VerifiedToken verifiedToken) {
+        return verifiedToken.authoritiesClaim() != null;
+    }
+
+    /**
+     * The authentication for a token that {@link #hasClaims has claims}, or {@code null} if its user is disabled.
+     */
+    UsernamePasswordAuthenticationToken authenticate(VerifiedToken verifiedToken) {
+        if (!verifiedToken.enabled()) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(verifiedToken.subject(), null,
+                grantedAuthorities(verifiedToken.authoritiesClaim()));
+    }
+
+    /**
+     * Shares one immutable authority list per distinct role combination instead of building it on every request.
+     */
+    private List<GrantedAuthority> grantedAuthorities(List<?> claim) {
+        List<GrantedAuthority> authorities = authorityLists.get(claim);
+        if (authorities != null) {
+            return authorities;
+        }
+        List<String> names = claim.stream().map(String::valueOf).toList();
+        authorities = List.copyOf(AuthorityUtils.createAuthorityList(names));
+        if (authorityLists.size() < MAX_AUTHORITY_LISTS) {
+            List<GrantedAuthority> existing = authorityLists.putIfAbsent(names, authorities);
+            return existing != null ? existing : authorities;
+        }
+        return authorities;
+    }
+}
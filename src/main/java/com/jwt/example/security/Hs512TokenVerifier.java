@@ -0,0 +1,425 @@
+package com.jwt.example.security;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Verifies HS512 tokens in exactly the shape {@link JwtTokenProvider} issues them, without jjwt: the signature is
+ * checked with a pre-keyed {@link Mac} and compared in constant time, base64url segments are decoded into reused
+ * buffers, and only {@code sub}, {@code exp}, {@code jti}, {@code roles} and {@code enabled} are read from the
+ * payload bytes.
+ * <p>
+ * Once the header and segment lengths match, a signature mismatch or a passed {@code exp} is answered directly, as
+ * jjwt would answer it but without an exception. Anything else it does not recognise (another header, escaped
+ * strings, duplicate or {@code nbf} claims) yields {@code null} and the caller falls back to jjwt.
+ */
+public class Hs512TokenVerifier {
+
+    private static final String HMAC_SHA512 = "HmacSHA512";
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int SIGNATURE_CHARS = 86;
+    private static final int MAX_TOKEN_LENGTH = 8192;
+    private static final byte[] BASE64URL = new byte[128];
+
+    private static final byte[] SUB = ascii("sub");
+    private static final byte[] EXP = ascii("exp");
+    private static final byte[] JTI = ascii("jti");
+    private static final byte[] NBF = ascii("nbf");
+    private static final byte[] ROLES = ascii(JwtTokenProvider.AUTHORITIES_CLAIM);
+    private static final byte[] ENABLED = ascii(JwtTokenProvider.ENABLED_CLAIM);
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final SecretKey key;
+    private final String header;
+    private final ThreadLocal<Buffers> platformThreadBuffers = ThreadLocal.withInitial(this::newBuffers);
+    // Virtual threads usually live for one request, so a thread-local Mac would be keyed once per request.
+    private final BlockingQueue<Buffers> virtualThreadBuffers =
+            new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    public Hs512TokenVerifier(SecretKey key) {
+        this.key = key;
+        this.header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"HS512\"}".getBytes(StandardCharsets.US_ASCII)) + ".";
+        // Fails here rather than on the first request if the key cannot be used for HmacSHA512.
+        newBuffers();
+    }
+
+    /**
+     * Returns the result for the token, or {@code null} when the token has to be verified by jjwt instead.
+     */
+    public TokenValidationResult verify(String token) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH || !token.startsWith(header)) {
+            return null;
+        }
+        int payloadStart = header.length();
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadEnd < 0 || length - payloadEnd - 1 != SIGNATURE_CHARS) {
+            return null;
+        }
+
+        if (!Thread.currentThread().isVirtual()) {
+            return verify(token, payloadStart, payloadEnd, platformThreadBuffers.get());
+        }
+        Buffers buffers = virtualThreadBuffers.poll();
+        if (buffers == null) {
+            buffers = newBuffers();
+        }
+        try {
+            return verify(token, payloadStart, payloadEnd, buffers);
+        } finally {
+            virtualThreadBuffers.offer(buffers);
+        }
+    }
+
+    private TokenValidationResult verify(String token, int payloadStart, int payloadEnd, Buffers buffers) {
+        byte[] payload = buffers.payload(payloadEnd - payloadStart);
+        int payloadLength = decode(token, payloadStart, payloadEnd, payload);
+        if (payloadLength < 0 || decode(token, payloadEnd + 1, token.length(), buffers.signature) != SIGNATURE_LENGTH) {
+            return null;
+        }
+
+        // Header and payload are now known to be base64url, so each char is one ASCII byte.
+        byte[] signingInput = buffers.signingInput(payloadEnd);
+        for (int i = 0; i < payloadEnd; i++) {
+            signingInput[i] = (byte) token.charAt(i);
+        }
+        try {
+            buffers.mac.update(signingInput, 0, payloadEnd);
+            buffers.mac.doFinal(buffers.expected, 0);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex);
+        }
+        if (!MessageDigest.isEqual(buffers.expected, buffers.signature)) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.BAD_SIGNATURE);
+        }
+        VerifiedToken verifiedToken = new PayloadReader(payload, payloadLength).read();
+        if (verifiedToken == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() > verifiedToken.expiration().getTime()) {
+            return TokenValidationResult.rejected(TokenValidationResult.Status.EXPIRED);
+        }
+        return TokenValidationResult.valid(verifiedToken);
+    }
+
+    private Buffers newBuffers() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA512);
+            mac.init(key);
+            return new Buffers(mac);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot initialise " + HMAC_SHA512, ex);
+        }
+    }
+
+    /**
+     * Decodes unpadded base64url from {@code source[from, to)} into {@code target}; returns the decoded length, or
+     * -1 for characters outside the alphabet or a non-canonical tail.
+     */
+    static int decode(String source, int from, int to, byte[] target) {
+        if ((to - from) % 4 == 1) {
+            return -1;
+        }
+        int length = 0;
+        int bits = 0;
+        int buffer = 0;
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            buffer = ((buffer << 6) | value) & 0xFFFF;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                target[length++] = (byte) (buffer >> bits);
+            }
+        }
+        return (buffer & ((1 << bits) - 1)) == 0 ? length : -1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * One pre-keyed Mac and the buffers reused across verifications by the same owner.
+     */
+    private static final class Buffers {
+
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private byte[] signingInput = new byte[512];
+        private byte[] payload = new byte[512];
+
+        private Buffers(Mac mac) {
+            this.mac = mac;
+        }
+
+        private byte[] signingInput(int length) {
+            if (signingInput.length < length) {
+                signingInput = new byte[length];
+            }
+            return signingInput;
+        }
+
+        private byte[] payload(int encodedLength) {
+            int length = encodedLength * 3 / 4 + 1;
+            if (payload.length < length) {
+                payload = new byte[length];
+            }
+            return payload;
+        }
+    }
+
+    /**
+     * Reads the claims object written by jjwt's Jackson serializer: a flat object, no insignificant whitespace
+     * expected (but tolerated), and strings without escapes for the claims that are extracted.
+     */
+    private static final class PayloadReader {
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private PayloadReader(byte[] bytes, int end) {
+            this.bytes = bytes;
+            this.end = end;
+        }
+
+        private VerifiedToken read() {
+            String subject = null;
+            String tokenId = null;
+            long expiration = -1;
+            List<String> roles = null;
+            boolean enabled = true;
+            boolean enabledSeen = false;
+
+            if (!consume('{')) {
+                return null;
+            }
+            if (!consume('}')) {
+                do {
+                    skipWhitespace();
+                    int keyStart = position + 1;
+                    if (!skipString()) {
+                        return null;
+                    }
+                    int keyLength = position - 1 - keyStart;
+                    // An escaped key could spell one of the names below; Jackson would read it as that name.
+                    if (contains(keyStart, keyLength, (byte) '\\') || !consume(':')) {
+                        return null;
+                    }
+                    if (matches(keyStart, keyLength, SUB)) {
+                        if (subject != null || (subject = readString()) == null) {
+                            return null;
+                        }
+                    } else if (matches(keyStart, keyLength, JTI)) {
+                        if (tokenId != null || (tokenId = readString()) == null) {
+                            return null;
+                        }
+                    } else if (matches(keyStart, keyLength, EXP)) {
+                        if (expiration >= 0 || (expiration = readLong()) < 0) {
+                            return null;
+                        }
+                    } else if (matches(keyStart, keyLength, ROLES)) {
+                        if (roles != null || (roles = readStringArray()) == null) {
+                            return null;
+                        }
+                    } else if (matches(keyStart, keyLength, ENABLED)) {
+                        if (enabledSeen) {
+                            return null;
+                        }
+                        enabledSeen = true;
+                        if (literal(TRUE)) {
+                            enabled = true;
+                        } else if (literal(FALSE)) {
+                            enabled = false;
+                        } else {
+                            return null;
+                        }
+                    } else if (matches(keyStart, keyLength, NBF) || !skipValue()) {
+                        return null;
+                    }
+                } while (consume(','));
+                if (!consume('}')) {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            if (position != end || subject == null || expiration < 0 || expiration > Long.MAX_VALUE / 1000) {
+                return null;
+            }
+            return new VerifiedToken(subject, new Date(expiration * 1000), tokenId, roles, enabled, null);
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (position < end && bytes[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (bytes[position] == ' ' || bytes[position] == '\t'
+                    || bytes[position] == '\n' || bytes[position] == '\r')) {
+                position++;
+            }
+        }
+
+        private boolean matches(int start, int length, byte[] name) {
+            return length == name.length && Arrays.equals(bytes, start, start + length, name, 0, length);
+        }
+
+        private boolean contains(int start, int length, byte value) {
+            for (int i = start; i < start + length; i++) {
+                if (bytes[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean literal(byte[] value) {
+            skipWhitespace();
+            if (end - position >= value.length && Arrays.equals(bytes, position, position + value.length, value, 0, value.length)) {
+                position += value.length;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * A string without escapes or control characters, or {@code null}.
+         */
+        private String readString() {
+            skipWhitespace();
+            if (position >= end || bytes[position] != '"') {
+                return null;
+            }
+            int start = ++position;
+            while (position < end) {
+                byte b = bytes[position];
+                if (b == '"') {
+                    return new String(bytes, start, position++ - start, StandardCharsets.UTF_8);
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return null;
+                }
+                position++;
+            }
+            return null;
+        }
+
+        private List<String> readStringArray() {
+            if (!consume('[')) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            if (consume(']')) {
+                return values;
+            }
+            do {
+                String value = readString();
+                if (value == null) {
+                    return null;
+                }
+                values.add(value);
+            } while (consume(','));
+            return consume(']') ? values : null;
+        }
+
+        /**
+         * A non-negative integer of at most 18 digits, or -1.
+         */
+        private long readLong() {
+            skipWhitespace();
+            long value = 0;
+            int start = position;
+            while (position < end && bytes[position] >= '0' && bytes[position] <= '9' && position - start < 18) {
+                value = value * 10 + (bytes[position++] - '0');
+            }
+            boolean terminated = position == end || bytes[position] == ',' || bytes[position] == '}'
+                    || bytes[position] == ' ';
+            return position > start && terminated ? value : -1;
+        }
+
+        private boolean skipString() {
+            skipWhitespace();
+            if (position >= end || bytes[position] != '"') {
+                return false;
+            }
+            position++;
+            while (position < end) {
+                byte b = bytes[position++];
+                if (b == '\\') {
+                    position++;
+                } else if (b == '"') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean skipValue() {
+            skipWhitespace();
+            if (position >= end) {
+                return false;
+            }
+            byte first = bytes[position];
+            if (first == '"') {
+                return skipString();
+            }
+            if (first == '{' || first == '[') {
+                int depth = 0;
+                do {
+                    byte b = bytes[position];
+                    if (b == '"') {
+                        if (!skipString()) {
+                            return false;
+                        }
+                        continue;
+                    }
+                    if (b == '{' || b == '[') {
+                        depth++;
+                    } else if (b == '}' || b == ']') {
+                        depth--;
+                    }
+                    position++;
+                } while (depth > 0 && position < end);
+                return depth == 0;
+            }
+            int start = position;
+            while (position < end && bytes[position] != ',' && bytes[position] != '}'
+                    && bytes[position] != ' ' && bytes[position] != ']') {
+                position++;
+            }
+            return position > start;
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.jwt.example.security;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
@@ -13,14 +13,19 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
-    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationEntryPoint.class);
+    private final SecurityEventPublisher securityEvents;
+
+    public JwtAuthenticationEntryPoint(SecurityEventPublisher securityEvents) {
+        this.securityEvents = securityEvents;
+    }
 
     @Override
     public void commence(HttpServletRequest httpServletRequest,
                          HttpServletResponse httpServletResponse,
                          AuthenticationException e) throws IOException {
 
-        logger.error("Responding with unauthorized error. Message - {}", e.getMessage());
+        securityEvents.publish(SecurityEventType.AUTHENTICATION_REQUIRED, e.getClass().getSimpleName(), null,
+                httpServletRequest.getMethod() + " " + httpServletRequest.getRequestURI());
 
         httpServletResponse.setContentType("application/json;charset=UTF-8");
         httpServletResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
@@ -1,10 +1,16 @@
 package com.jwt.example.security;
 
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
+import com.jwt.example.util.OutcomeTimers;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -16,36 +22,98 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-
     private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
     private final UserDetailsService userDetailsService;
+    private final AuthenticationMode authenticationMode;
+    private final OutcomeTimers<FilterOutcome> filterTimers;
+    private final SecurityEventPublisher securityEvents;
+    private final RequestMatcher publicRoutes;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+    private final ClaimsAuthentication claimsAuthentication = new ClaimsAuthentication();
+
+    enum FilterOutcome {
+        AUTHENTICATED, NO_TOKEN, INVALID_TOKEN, REVOKED, DISABLED, UNKNOWN_USER, ERROR
+    }
 
-    public JwtAuthenticationFilter (JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter (JwtTokenProvider tokenProvider, VerifiedTokenCache tokenCache, TokenRevocationStore revocationStore,
+                                    UserDetailsService userDetailsService, AuthenticationMode authenticationMode,
+                                    MeterRegistry meterRegistry, SecurityEventPublisher securityEvents,
+                                    RequestMatcher publicRoutes) {
         this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
         this.userDetailsService = userDetailsService;
+        this.authenticationMode = authenticationMode;
+        this.securityEvents = securityEvents;
+        this.publicRoutes = publicRoutes;
+        this.filterTimers = new OutcomeTimers<>(meterRegistry, "auth.filter",
+                "Bearer token authentication in JwtAuthenticationFilter, excluding the rest of the chain", FilterOutcome.class);
+    }
+
+    /**
+     * Routes that permit all requests never need an authentication, so their tokens are not even verified.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicRoutes.matches(request);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
+        FilterOutcome outcome;
         try {
-            String jwt = getJwtFromRequest(request);
+            outcome = authenticate(request);
+        } catch (UsernameNotFoundException ex) {
+            outcome = FilterOutcome.UNKNOWN_USER;
+            securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "unknown_user", null, ex.getMessage());
+        } catch (Exception ex) {
+            outcome = FilterOutcome.ERROR;
+            securityEvents.publish(SecurityEventType.AUTHENTICATION_ERROR, ex.getClass().getSimpleName(), null, ex.getMessage());
+            logger.debug("Could not set user authentication in security context", ex);
+        }
+        filterTimers.record(outcome, start);
+
+        filterChain.doFilter(request, response);
+    }
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+    private FilterOutcome authenticate(HttpServletRequest request) {
+        String jwt = getJwtFromRequest(request);
+        if (!StringUtils.hasText(jwt)) {
+            return FilterOutcome.NO_TOKEN;
+        }
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        TokenValidationResult result = tokenCache.validate(jwt, tokenProvider::validate);
+        if (!result.isValid()) {
+            return FilterOutcome.INVALID_TOKEN;
+        }
+        VerifiedToken verifiedToken = result.token();
+        if (revocationStore.isRevoked(verifiedToken.tokenId())) {
+            securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "revoked", verifiedToken.subject(), null);
+            return FilterOutcome.REVOKED;
+        }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
-        } catch (Exception ex) {
-            logger.error("Could not set user authentication in security context", ex);
+        UsernamePasswordAuthenticationToken authentication = authenticate(verifiedToken);
+        if (authentication == null) {
+            securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "disabled", verifiedToken.subject(), null);
+            return FilterOutcome.DISABLED;
         }
 
-        filterChain.doFilter(request, response);
+        authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return FilterOutcome.AUTHENTICATED;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(VerifiedToken verifiedToken) {
+        if (authenticationMode == AuthenticationMode.CLAIMS && ClaimsAuthentication.hasClaims(verifiedToken)) {
+            return claimsAuthentication.authenticate(verifiedToken);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.subject());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -0,0 +1,126 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
+import com.jwt.example.security.JwtAuthenticationFilter.FilterOutcome;
+import com.jwt.example.util.OutcomeTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}. Token verification is CPU-only and runs inline; a user
+ * lookup that misses the cache goes through the {@link ReactiveUserDetailsService}, which keeps JDBC off the event
+ * loop. Records the same {@code auth.filter} timers and security events.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtTokenProvider tokenProvider;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationStore revocationStore;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final AuthenticationMode authenticationMode;
+    private final OutcomeTimers<FilterOutcome> filterTimers;
+    private final SecurityEventPublisher securityEvents;
+    private final ServerWebExchangeMatcher publicRoutes;
+    private final ClaimsAuthentication claimsAuthentication = new ClaimsAuthentication();
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider tokenProvider, VerifiedTokenCache tokenCache,
+                                      TokenRevocationStore revocationStore, ReactiveUserDetailsService userDetailsService,
+                                      AuthenticationMode authenticationMode, MeterRegistry meterRegistry,
+                                      SecurityEventPublisher securityEvents, ServerWebExchangeMatcher publicRoutes) {
+        this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
+        this.revocationStore = revocationStore;
+        this.userDetailsService = userDetailsService;
+        this.authenticationMode = authenticationMode;
+        this.securityEvents = securityEvents;
+        this.publicRoutes = publicRoutes;
+        this.filterTimers = new OutcomeTimers<>(meterRegistry, "auth.filter",
+                "Bearer token authentication in JwtAuthenticationFilter, excluding the rest of the chain", FilterOutcome.class);
+    }
+
+    /**
+     * Like {@link JwtAuthenticationFilter#shouldNotFilter}, tokens sent to routes that permit all requests are not verified.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return publicRoutes.matches(exchange)
+                .flatMap(match -> match.isMatch() ? chain.filter(exchange) : authenticateAndFilter(exchange, chain));
+    }
+
+    private Mono<Void> authenticateAndFilter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        String jwt = getJwtFromRequest(exchange);
+        if (!StringUtils.hasText(jwt)) {
+            filterTimers.record(FilterOutcome.NO_TOKEN, start);
+            return chain.filter(exchange);
+        }
+
+        TokenValidationResult result = tokenCache.validate(jwt, tokenProvider::validate);
+        if (!result.isValid()) {
+            filterTimers.record(FilterOutcome.INVALID_TOKEN, start);
+            return chain.filter(exchange);
+        }
+        VerifiedToken verifiedToken = result.token();
+        if (revocationStore.isRevoked(verifiedToken.tokenId())) {
+            filterTimers.record(FilterOutcome.REVOKED, start);
+            securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "revoked", verifiedToken.subject(), null);
+            return chain.filter(exchange);
+        }
+
+        return authenticate(verifiedToken, start)
+                .map(Optional::of)
+                .onErrorResume(ex -> {
+                    filterTimers.record(FilterOutcome.ERROR, start);
+                    securityEvents.publish(SecurityEventType.AUTHENTICATION_ERROR, ex.getClass().getSimpleName(), null, ex.getMessage());
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(value -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(value)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Authentication> authenticate(VerifiedToken verifiedToken, long start) {
+        if (authenticationMode == AuthenticationMode.CLAIMS && ClaimsAuthentication.hasClaims(verifiedToken)) {
+            Authentication authentication = claimsAuthentication.authenticate(verifiedToken);
+            if (authentication == null) {
+                filterTimers.record(FilterOutcome.DISABLED, start);
+                securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "disabled", verifiedToken.subject(), null);
+                return Mono.empty();
+            }
+            filterTimers.record(FilterOutcome.AUTHENTICATED, start);
+            return Mono.just(authentication);
+        }
+
+        return userDetailsService.findByUsername(verifiedToken.subject())
+                .<Authentication>map(userDetails -> {
+                    filterTimers.record(FilterOutcome.AUTHENTICATED, start);
+                    return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    filterTimers.record(FilterOutcome.UNKNOWN_USER, start);
+                    securityEvents.publish(SecurityEventType.TOKEN_REJECTED, "unknown_user", verifiedToken.subject(), null);
+                }));
+    }
+
+    private String getJwtFromRequest(ServerWebExchange exchange) {
+        String bearerToken = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
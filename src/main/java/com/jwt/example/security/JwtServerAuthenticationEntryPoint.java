@@ -0,0 +1,39 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationEntryPoint}, with the same JSON body.
+ */
+public class JwtServerAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+    private final SecurityEventPublisher securityEvents;
+
+    public JwtServerAuthenticationEntryPoint(SecurityEventPublisher securityEvents) {
+        this.securityEvents = securityEvents;
+    }
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException e) {
+        securityEvents.publish(SecurityEventType.AUTHENTICATION_REQUIRED, e.getClass().getSimpleName(), null,
+                exchange.getRequest().getMethod() + " " + exchange.getRequest().getPath().value());
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8));
+        DataBuffer body = response.bufferFactory().wrap(
+                ("{\"error\": \"Unauthorized\", \"message\": \"" + e.getMessage() + "\"}").getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+}
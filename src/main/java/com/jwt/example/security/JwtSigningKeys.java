@@ -0,0 +1,274 @@
+package com.jwt.example.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Keys used to sign and verify tokens.
+ * <p>
+ * {@code HS512} (the default) signs with the shared {@code jwt.secret}. {@code RS256}, {@code ES256} and
+ * {@code EdDSA} load key pairs from {@code jwt.keys.directory}: every {@code <kid>.pub} (X.509 PEM) is accepted for
+ * verification and {@code <kid>.key} (PKCS#8 PEM) of {@code jwt.keys.active-kid} signs new tokens. Rotating keys means
+ * adding the new pair, switching the active kid, and removing the old {@code .pub} once its tokens have expired.
+ */
+@Component
+public class JwtSigningKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtSigningKeys.class);
+
+    private static final String HS512 = "HS512";
+
+    private final String algorithm;
+    private final String activeKid;
+    private final SecretKey secretKey;
+    private final PrivateKey privateKey;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final Map<String, PublicKey> verificationKeys;
+    private final Map<String, Object> jwks;
+    private final String jwksETag;
+
+    public JwtSigningKeys(@Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidationPurposeOnly}") String jwtSecret,
+                          @Value("${jwt.algorithm:HS512}") String algorithm,
+                          @Value("${jwt.keys.directory:}") String keysDirectory,
+                          @Value("${jwt.keys.active-kid:}") String activeKid) {
+        this.algorithm = algorithm;
+
+        if (HS512.equals(algorithm)) {
+            this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            this.privateKey = null;
+            this.signatureAlgorithm = null;
+            this.activeKid = null;
+            this.verificationKeys = Map.of();
+        } else {
+            this.secretKey = null;
+            this.signatureAlgorithm = signatureAlgorithm(algorithm);
+
+            Map<String, PublicKey> publicKeys = new TreeMap<>();
+            Map<String, PrivateKey> privateKeys = new TreeMap<>();
+            if (StringUtils.hasText(keysDirectory)) {
+                loadKeys(Path.of(keysDirectory), publicKeys, privateKeys);
+            } else {
+                KeyPair keyPair = signatureAlgorithm.keyPair().build();
+                String kid = UUID.randomUUID().toString();
+                publicKeys.put(kid, keyPair.getPublic());
+                privateKeys.put(kid, keyPair.getPrivate());
+                logger.warn("No jwt.keys.directory configured; generated an ephemeral {} key pair with kid {}. "
+                        + "Tokens will not verify after a restart.", algorithm, kid);
+            }
+
+            this.activeKid = StringUtils.hasText(activeKid) ? activeKid : singleKid(privateKeys);
+            this.privateKey = privateKeys.get(this.activeKid);
+            if (privateKey == null || !publicKeys.containsKey(this.activeKid)) {
+                throw new IllegalStateException("No key pair found for active kid '" + this.activeKid + "'");
+            }
+            this.verificationKeys = Collections.unmodifiableMap(publicKeys);
+        }
+
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> keys.add(toJwk(kid, key)));
+        this.jwks = Map.of("keys", List.copyOf(keys));
+        this.jwksETag = eTag(verificationKeys);
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Signs the builder with the active key, adding its {@code kid} header for asymmetric algorithms.
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (secretKey != null) {
+            return builder.signWith(secretKey, Jwts.SIG.HS512);
+        }
+        return builder.header().keyId(activeKid).and()
+                .signWith(privateKey, signatureAlgorithm);
+    }
+
+    /**
+     * A byte-level verifier for this application's own HS512 tokens, or {@code null} for asymmetric algorithms.
+     */
+    public Hs512TokenVerifier hs512TokenVerifier() {
+        return secretKey != null ? new Hs512TokenVerifier(secretKey) : null;
+    }
+
+    /**
+     * Resolves the verification key from the token's {@code kid} using the in-memory, kid-indexed key map.
+     */
+    public Locator<Key> keyLocator() {
+        return new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                if (secretKey != null) {
+                    return header.getKeyId() == null ? secretKey : null;
+                }
+                String kid = header.getKeyId();
+                return kid != null ? verificationKeys.get(kid) : null;
+            }
+        };
+    }
+
+    /**
+     * The public verification keys as a JWK Set; empty for {@code HS512}, whose secret is never published.
+     */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    public String getJwksETag() {
+        return jwksETag;
+    }
+
+    private Map<String, Object> toJwk(String kid, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm);
+        switch (key) {
+            case RSAPublicKey rsa -> {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(unsigned(rsa.getModulus(), 0)));
+                jwk.put("e", base64Url(unsigned(rsa.getPublicExponent(), 0)));
+            }
+            case ECPublicKey ec -> {
+                int fieldSize = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+                jwk.put("x", base64Url(unsigned(ec.getW().getAffineX(), fieldSize)));
+                jwk.put("y", base64Url(unsigned(ec.getW().getAffineY(), fieldSize)));
+            }
+            case EdECPublicKey ed -> {
+                // The raw key follows the fixed 12-byte SubjectPublicKeyInfo prefix for both Ed25519 and Ed448.
+                byte[] encoded = ed.getEncoded();
+                jwk.put("kty", "OKP");
+                jwk.put("crv", ed.getParams().getName());
+                jwk.put("x", base64Url(Arrays.copyOfRange(encoded, 12, encoded.length)));
+            }
+            default -> throw new IllegalStateException("Unsupported public key type: " + key.getAlgorithm());
+        }
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    private void loadKeys(Path directory, Map<String, PublicKey> publicKeys, Map<String, PrivateKey> privateKeys) {
+        try (Stream<Path> files = Files.list(directory)) {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm(algorithm));
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pub")) {
+                    publicKeys.put(kidOf(name), keyFactory.generatePublic(new X509EncodedKeySpec(readPem(file))));
+                } else if (name.endsWith(".key")) {
+                    privateKeys.put(kidOf(name), keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(file))));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read JWT keys from " + directory, ex);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not load JWT keys from " + directory, ex);
+        }
+        logger.info("Loaded {} {} verification key(s) from {}", publicKeys.size(), algorithm, directory);
+    }
+
+    private static SignatureAlgorithm signatureAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "RS256" -> Jwts.SIG.RS256;
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalStateException("Unsupported jwt.algorithm: " + algorithm);
+        };
+    }
+
+    private static String keyFactoryAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "RS256" -> "RSA";
+            case "ES256" -> "EC";
+            default -> "EdDSA";
+        };
+    }
+
+    private static String singleKid(Map<String, PrivateKey> privateKeys) {
+        if (privateKeys.size() != 1) {
+            throw new IllegalStateException("jwt.keys.active-kid must be set when " + privateKeys.size() + " private keys are present");
+        }
+        return privateKeys.keySet().iterator().next();
+    }
+
+    private static String kidOf(String fileName) {
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        String pem = Files.readString(file, StandardCharsets.US_ASCII);
+        return Base64.getMimeDecoder().decode(pem.replaceAll("-----[A-Z ]+-----", ""));
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length >= length) {
+            return bytes;
+        }
+        byte[] padded = new byte[length];
+        System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+        return padded;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String eTag(Map<String, PublicKey> keys) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            keys.forEach((kid, key) -> {
+                digest.update(kid.getBytes(StandardCharsets.UTF_8));
+                digest.update(key.getEncoded());
+            });
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -1,71 +1,180 @@
 package com.jwt.example.security;
 
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.audit.SecurityEventType;
+import com.jwt.example.util.OutcomeTimers;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
-    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    public static final String AUTHORITIES_CLAIM = "roles";
+    public static final String ENABLED_CLAIM = "enabled";
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidationPurposeOnly}")
-    private String jwtSecret;
+    private final int jwtExpirationMs;
+    private final JwtSigningKeys signingKeys;
+    private final JwtParser jwtParser;
+    private final Hs512TokenVerifier fastVerifier;
+    private final SecurityEventPublisher securityEvents;
+    private final OutcomeTimers<TokenValidationResult.Status> verifyTimers;
+    private final Timer issueTimer;
 
-    @Value("${jwt.expiration:86400000}")
-    private int jwtExpirationMs;
+    public JwtTokenProvider(JwtSigningKeys signingKeys,
+                            @Value("${jwt.expiration:900000}") int jwtExpirationMs,
+                            @Value("${jwt.fast-verification:false}") boolean fastVerification,
+                            MeterRegistry meterRegistry, SecurityEventPublisher securityEvents) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKeys = signingKeys;
+        this.securityEvents = securityEvents;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(signingKeys.keyLocator())
+                .build();
+        this.fastVerifier = fastVerification ? signingKeys.hs512TokenVerifier() : null;
+        this.verifyTimers = new OutcomeTimers<>(meterRegistry, "jwt.token.verify",
+                "Signature check and claims parsing of access tokens", TokenValidationResult.Status.class);
+        this.issueTimer = Timer.builder("jwt.token.issue")
+                .description("Building and signing access tokens")
+                .register(meterRegistry);
+    }
+
+    public long getExpirationMs() {
+        return jwtExpirationMs;
+    }
 
     public String generateToken(String username) {
         return generateTokenFromUsername(username);
     }
 
-    public String generateTokenFromUsername(String username) {
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+    /**
+     * Issues a token that also carries the user's authorities and enabled flag, so that
+     * {@link AuthenticationMode#CLAIMS} can authenticate requests without reloading the user.
+     */
+    public String generateToken(UserDetails userDetails) {
+        long start = System.nanoTime();
+        List<String> authorities = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        String token = tokenBuilder(userDetails.getUsername())
+                .claim(AUTHORITIES_CLAIM, authorities)
+                .claim(ENABLED_CLAIM, userDetails.isEnabled())
                 .compact();
+        issueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public String generateTokenFromUsername(String username) {
+        long start = System.nanoTime();
+        String token = tokenBuilder(username).compact();
+        issueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Parses and verifies the token once, returning its subject, expiry and claims when it is valid.
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        return validate(token).verifiedToken();
+    }
+
+    /**
+     * Verifies the token and says why it was rejected, without throwing. Tokens that are not even shaped like a JWS
+     * are rejected before jjwt sees them, and with {@code jwt.fast-verification} and HS512, {@link Hs512TokenVerifier}
+     * answers for tokens in the shape this service issues; only the rest go through jjwt, which reports failures by
+     * throwing.
+     */
+    public TokenValidationResult validate(String token) {
+        long start = System.nanoTime();
+        if (token == null || token.isEmpty()) {
+            return result(TokenValidationResult.rejected(TokenValidationResult.Status.INVALID), start, "empty token");
+        }
+        if (!isCompactJws(token)) {
+            return result(TokenValidationResult.rejected(TokenValidationResult.Status.MALFORMED), start, "not a compact JWS");
+        }
+        if (fastVerifier != null) {
+            TokenValidationResult result = fastVerifier.verify(token);
+            if (result != null) {
+                return result(result, start, "rejected by HS512 fast path");
+            }
+        }
+
+        TokenValidationResult.Status status;
+        RuntimeException failure;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return result(TokenValidationResult.valid(VerifiedToken.from(claims)), start, null);
         } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token: {}", ex.getMessage());
+            status = TokenValidationResult.Status.MALFORMED;
+            failure = ex;
         } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token: {}", ex.getMessage());
+            status = TokenValidationResult.Status.EXPIRED;
+            failure = ex;
         } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token: {}", ex.getMessage());
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty: {}", ex.getMessage());
+            status = TokenValidationResult.Status.UNSUPPORTED;
+            failure = ex;
+        } catch (SignatureException ex) {
+            status = TokenValidationResult.Status.BAD_SIGNATURE;
+            failure = ex;
+        } catch (JwtException | IllegalArgumentException ex) {
+            status = TokenValidationResult.Status.INVALID;
+            failure = ex;
         }
-        return false;
+        return result(TokenValidationResult.rejected(status), start, failure.getMessage());
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private TokenValidationResult result(TokenValidationResult result, long start, String detail) {
+        verifyTimers.record(result.status(), start);
+        if (!result.isValid()) {
+            securityEvents.publish(SecurityEventType.TOKEN_REJECTED, result.status().name().toLowerCase(Locale.ROOT), null, detail);
+        }
+        return result;
+    }
+
+    /**
+     * Three base64url segments (five for a JWE, which jjwt rejects as unsupported); anything else cannot parse.
+     */
+    private static boolean isCompactJws(String token) {
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                dots++;
+            } else if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_' || c == '=')) {
+                return false;
+            }
+        }
+        return dots == 2 || dots == 4;
+    }
+
+    public String getUsernameFromToken(String token) {
+        return jwtParser.parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
     }
-}
 
+    public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
+    }
 
+    private JwtBuilder tokenBuilder(String username) {
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs));
+        return signingKeys.sign(builder);
+    }
+}
@@ -0,0 +1,92 @@
+package com.jwt.example.security;
+
+import com.jwt.example.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Denylist of revoked token ids ({@code jti}).
+ * <p>
+ * A Bloom filter answers almost every lookup without touching the exact set; the set is only consulted when the
+ * filter reports a possible match. Entries are kept until the revoked token would have expired anyway, and the
+ * filter is rebuilt from the remaining entries on each purge. The store is per instance; deployments with several
+ * nodes need to feed every node's store.
+ */
+@Component
+public class TokenRevocationStore implements MeterBinder {
+
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private volatile BloomFilter bloomFilter;
+
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder confirmedRevocations = new LongAdder();
+
+    public TokenRevocationStore(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public void revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null || expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        // Add to the exact set before the filter so a concurrent purge cannot drop the entry from both.
+        revokedTokens.put(tokenId, expiresAtMillis);
+        bloomFilter.add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        filterPositives.increment();
+        if (revokedTokens.containsKey(tokenId)) {
+            confirmedRevocations.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+        // Entries revoked while the filter was being rebuilt may have gone into the old filter only.
+        revokedTokens.keySet().forEach(rebuilt::add);
+    }
+
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revocation.entries", revokedTokens, ConcurrentHashMap::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.lookups", filterPositives, LongAdder::sum)
+                .tag("result", "filter_positive")
+                .description("Revocation lookups that reached the exact set")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.lookups", confirmedRevocations, LongAdder::sum)
+                .tag("result", "revoked")
+                .description("Revocation lookups that reached the exact set")
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.jwt.example.security;
+
+import java.util.Optional;
+
+/**
+ * Result of {@link JwtTokenProvider#validate(String)}: the verified token, or why it was rejected. Rejections are
+ * shared constants, so a flood of bad tokens allocates no result objects.
+ */
+public record TokenValidationResult(Status status, VerifiedToken token) {
+
+    /**
+     * Signature check and claims parsing happen inside one jjwt call, so they are told apart by the failure reason.
+     */
+    public enum Status {
+        VALID, EXPIRED, MALFORMED, UNSUPPORTED, BAD_SIGNATURE, INVALID
+    }
+
+    private static final TokenValidationResult[] REJECTIONS = new TokenValidationResult[Status.values().length];
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != Status.VALID) {
+                REJECTIONS[status.ordinal()] = new TokenValidationResult(status, null);
+            }
+        }
+    }
+
+    public static TokenValidationResult valid(VerifiedToken token) {
+        return new TokenValidationResult(Status.VALID, token);
+    }
+
+    public static TokenValidationResult rejected(Status status) {
+        if (status == Status.VALID) {
+            throw new IllegalArgumentException("A valid result needs its token");
+        }
+        return REJECTIONS[status.ordinal()];
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public Optional<VerifiedToken> verifiedToken() {
+        return Optional.ofNullable(token);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jwt.example.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Authenticated user that also carries the profile fields the login response needs, so login does not have to
+ * load the user a second time after the {@code AuthenticationManager} has done so.
+ */
+public class UserPrincipal extends User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String email;
+
+    public UserPrincipal(String username, String password, boolean enabled,
+                         Collection<? extends GrantedAuthority> authorities, String email) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.email = email;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserPrincipal withPassword(String password) {
+        return new UserPrincipal(getUsername(), password, isEnabled(), getAuthorities(), email);
+    }
+}
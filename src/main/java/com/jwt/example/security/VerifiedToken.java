@@ -0,0 +1,38 @@
+package com.jwt.example.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A token whose signature and expiry have already been checked, produced by a single parse. {@code claims} is
+ * {@code null} when the token was verified by {@link Hs512TokenVerifier}, which only extracts the fields below.
+ *
+ * @param authoritiesClaim the authorities claim as parsed, without copying, or {@code null} when absent
+ */
+public record VerifiedToken(String subject, Date expiration, String tokenId, List<?> authoritiesClaim, boolean enabled,
+                            Claims claims) {
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims.getId(),
+                claims.get(JwtTokenProvider.AUTHORITIES_CLAIM) instanceof List<?> values ? values : null,
+                !Boolean.FALSE.equals(claims.get(JwtTokenProvider.ENABLED_CLAIM, Boolean.class)),
+                claims);
+    }
+
+    /**
+     * Authorities embedded at login, or {@code null} when the token was issued without them.
+     */
+    public List<String> authorities() {
+        if (authoritiesClaim == null) {
+            return null;
+        }
+        List<String> authorities = new ArrayList<>(authoritiesClaim.size());
+        for (Object value : authoritiesClaim) {
+            authorities.add(String.valueOf(value));
+        }
+        return authorities;
+    }
+}
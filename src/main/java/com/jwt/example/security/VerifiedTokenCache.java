@@ -0,0 +1,112 @@
+package com.jwt.example.security;
+
+import com.jwt.example.util.BoundedExpiringCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Function;
+
+/**
+ * Optional cache of tokens that already passed signature verification, keyed by the SHA-256 digest of the token so
+ * raw bearer tokens are never retained. An entry never outlives the {@code exp} of its token.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final BoundedExpiringCache<TokenDigest, TokenValidationResult> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.ttl:300000}") long ttlMs) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.cache = new BoundedExpiringCache<>(maxSize);
+    }
+
+    /**
+     * Returns the cached result for a token that was valid before, otherwise validates it. Only valid results are
+     * cached, and the cached result instance itself is returned, so a hit allocates nothing beyond the digest.
+     */
+    public TokenValidationResult validate(String token, Function<String, TokenValidationResult> validator) {
+        if (!enabled) {
+            return validator.apply(token);
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        TokenValidationResult cached = cache.get(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenValidationResult result = validator.apply(token);
+        if (result.isValid() && result.token().expiration() != null) {
+            cache.put(digest, result,
+                    Math.min(result.token().expiration().getTime(), System.currentTimeMillis() + ttlMs));
+        }
+        return result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return cache.hitCount();
+    }
+
+    public long missCount() {
+        return cache.missCount();
+    }
+
+    public long evictionCount() {
+        return cache.evictionCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.token.cache.requests", cache, BoundedExpiringCache::hitCount)
+                .tag("result", "hit")
+                .description("Verified-token cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.token.cache.requests", cache, BoundedExpiringCache::missCount)
+                .tag("result", "miss")
+                .description("Verified-token cache lookups")
+                .register(registry);
+        FunctionCounter.builder("jwt.token.cache.evictions", cache, BoundedExpiringCache::evictionCount)
+                .description("Verified-token cache entries removed for expiry or size")
+                .register(registry);
+        Gauge.builder("jwt.token.cache.size", cache, BoundedExpiringCache::size)
+                .description("Verified-token cache entries")
+                .register(registry);
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(sha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+    }
+}
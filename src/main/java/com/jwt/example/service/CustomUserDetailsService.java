@@ -1,47 +1,184 @@
 package com.jwt.example.service;
 
-import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserCredentials;
 import com.jwt.example.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.jwt.example.security.UserPrincipal;
+import com.jwt.example.util.BoundedExpiringCache;
+import com.jwt.example.util.OutcomeTimers;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private static final Collection<? extends GrantedAuthority> USER_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final Collection<? extends GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
 
     private final UserRepository userRepository;
+    private final boolean cacheEnabled;
+    private final long cacheTtlMs;
+    private final int warmUpSize;
+    private final Set<String> adminUsernames;
+    private final BoundedExpiringCache<String, UserPrincipal> cache;
+    private final OutcomeTimers<LoadOutcome> loadTimers;
+
+    enum LoadOutcome {
+        CACHED, LOADED, UNKNOWN_USER
+    }
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${auth.user-cache.enabled:true}") boolean cacheEnabled,
+                                    @Value("${auth.user-cache.max-size:10000}") int cacheMaxSize,
+                                    @Value("${auth.user-cache.ttl:60000}") long cacheTtlMs,
+                                    @Value("${auth.user-cache.warm-up-size:0}") int warmUpSize,
+                                    @Value("${auth.admin-usernames:}") Set<String> adminUsernames,
+                                    MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.adminUsernames = Set.copyOf(adminUsernames);
+        this.cacheEnabled = cacheEnabled;
+        this.cacheTtlMs = cacheTtlMs;
+        this.warmUpSize = warmUpSize;
+        this.cache = new BoundedExpiringCache<>(cacheMaxSize);
+        this.loadTimers = new OutcomeTimers<>(meterRegistry, "auth.user.load",
+                "User details lookups, from the cache or the users table", LoadOutcome.class);
     }
 
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    public UserPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+        UserPrincipal userPrincipal = getCachedUser(username);
+        if (userPrincipal != null) {
+            loadTimers.record(LoadOutcome.CACHED, start);
+            return userPrincipal;
+        }
+
+        UserCredentials user = userRepository.findCredentialsByUsername(username).orElse(null);
+        if (user == null) {
+            loadTimers.record(LoadOutcome.UNKNOWN_USER, start);
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        userPrincipal = cacheUser(user);
+        loadTimers.record(LoadOutcome.LOADED, start);
+        return userPrincipal;
+    }
+
+    /**
+     * Returns the cached principal for {@code username}, or null when it is not cached.
+     */
+    public UserPrincipal getCachedUser(String username) {
+        UserPrincipal userPrincipal = cacheEnabled ? cache.get(username) : null;
+        return userPrincipal != null ? copy(userPrincipal) : null;
+    }
+
+    /**
+     * Maps a user loaded from the users table to its principal and caches it.
+     */
+    public UserPrincipal cacheUser(UserCredentials user) {
+        UserPrincipal userPrincipal = toUserPrincipal(user);
+        cache(userPrincipal);
+        return copy(userPrincipal);
+    }
+
+    // The AuthenticationManager erases credentials on the principal it returns, so callers never get the cached instance.
+    private static UserPrincipal copy(UserPrincipal userPrincipal) {
+        return userPrincipal.withPassword(userPrincipal.getPassword());
+    }
 
+    /**
+     * Stores a re-encoded hash after a successful login whose stored hash used an outdated algorithm or cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword, System.currentTimeMillis());
+        evictUser(user.getUsername());
+        if (user instanceof UserPrincipal userPrincipal) {
+            return userPrincipal.withPassword(newPassword);
+        }
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
-                user.getPassword(),
-                user.getEnabled(),
+                newPassword,
+                user.isEnabled(),
                 true,
                 true,
                 true,
-                getAuthorities()
+                user.getAuthorities()
         );
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities() {
-        Collection<GrantedAuthority> authorities = new ArrayList<>();
-        authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-        return authorities;
+    /**
+     * Drops the cached entry for a user; called whenever the user row is created or modified.
+     */
+    public void evictUser(String username) {
+        cache.invalidate(username);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!cacheEnabled || warmUpSize <= 0) {
+            return;
+        }
+        // updatedAt is the closest thing to "recently active" the users table records.
+        List<UserCredentials> users = userRepository.findCredentials(
+                PageRequest.of(0, warmUpSize, Sort.by(Sort.Direction.DESC, "updatedAt")));
+        users.forEach(user -> cache(toUserPrincipal(user)));
+        logger.info("Preloaded {} users into the user details cache", users.size());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.user.cache.requests", cache, BoundedExpiringCache::hitCount)
+                .tag("result", "hit")
+                .description("User details cache lookups")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.requests", cache, BoundedExpiringCache::missCount)
+                .tag("result", "miss")
+                .description("User details cache lookups")
+                .register(registry);
+        FunctionCounter.builder("auth.user.cache.evictions", cache, BoundedExpiringCache::evictionCount)
+                .description("User details cache entries removed for expiry or size")
+                .register(registry);
+        Gauge.builder("auth.user.cache.size", cache, BoundedExpiringCache::size)
+                .description("User details cache entries")
+                .register(registry);
+    }
+
+    private void cache(UserPrincipal userPrincipal) {
+        if (cacheEnabled) {
+            cache.put(userPrincipal.getUsername(), userPrincipal, System.currentTimeMillis() + cacheTtlMs);
+        }
     }
-}
 
+    private UserPrincipal toUserPrincipal(UserCredentials user) {
+        return new UserPrincipal(
+                user.username(),
+                user.password(),
+                user.enabled(),
+                adminUsernames.contains(user.username()) ? ADMIN_AUTHORITIES : USER_AUTHORITIES,
+                user.email()
+        );
+    }
+}
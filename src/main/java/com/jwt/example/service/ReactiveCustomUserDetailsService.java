@@ -0,0 +1,47 @@
+package com.jwt.example.service;
+
+import com.jwt.example.repository.ReactiveUserRepository;
+import com.jwt.example.security.UserPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link CustomUserDetailsService}, sharing its cache: cached users are returned without
+ * leaving the calling thread, misses go through {@link ReactiveUserRepository}.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final CustomUserDetailsService userDetailsService;
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    public ReactiveCustomUserDetailsService(CustomUserDetailsService userDetailsService,
+                                            ReactiveUserRepository reactiveUserRepository) {
+        this.userDetailsService = userDetailsService;
+        this.reactiveUserRepository = reactiveUserRepository;
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        UserPrincipal cached = userDetailsService.getCachedUser(username);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return reactiveUserRepository.findCredentialsByUsername(username)
+                .map(userDetailsService::cacheUser);
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return reactiveUserRepository.updatePassword(user.getUsername(), newPassword, System.currentTimeMillis())
+                .doOnSuccess(_ -> userDetailsService.evictUser(user.getUsername()))
+                .map(_ -> user instanceof UserPrincipal userPrincipal
+                        ? userPrincipal.withPassword(newPassword)
+                        : org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build());
+    }
+}
@@ -0,0 +1,110 @@
+package com.jwt.example.service;
+
+import com.jwt.example.entity.RefreshToken;
+import com.jwt.example.exception.InvalidTokenException;
+import com.jwt.example.exception.TokenExpiredException;
+import com.jwt.example.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom random = new SecureRandom();
+    private static final int TOKEN_LENGTH = 32; // 256 bits
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    @Transactional
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Presenting a token that was already rotated
+     * revokes the whole family, since either the client or an attacker is replaying a stolen token.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public RotatedRefreshToken rotate(String refreshToken) {
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+
+        if (stored.getExpiresAt() <= System.currentTimeMillis()) {
+            throw new TokenExpiredException("Refresh token has expired");
+        }
+
+        if (refreshTokenRepository.revokeIfActive(stored.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(stored.getFamilyId());
+            logger.warn("Refresh token reuse detected for user {}; revoked token family {}",
+                    stored.getUsername(), stored.getFamilyId());
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        return new RotatedRefreshToken(stored.getUsername(), issue(stored.getUsername(), stored.getFamilyId()));
+    }
+
+    /**
+     * Revokes the given refresh token together with every token rotated from the same login.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(stored -> refreshTokenRepository.revokeFamily(stored.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-sweep-interval:3600000}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(System.currentTimeMillis());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] randomBytes = new byte[TOKEN_LENGTH];
+        random.nextBytes(randomBytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(refreshToken))
+                .username(username)
+                .familyId(familyId)
+                .expiresAt(System.currentTimeMillis() + refreshExpirationMs)
+                .revoked(false)
+                .build());
+        return refreshToken;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(refreshToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    public record RotatedRefreshToken(String username, String refreshToken) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.jwt.example.service;
+
+import com.jwt.example.dto.BulkImportResult;
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.entity.User;
+import com.jwt.example.exception.UserAlreadyExistsException;
+import com.jwt.example.repository.UserRepository;
+import com.jwt.example.security.BulkheadPasswordEncoder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users in chunks: rows are validated and checked for conflicts with one query per field per chunk,
+ * passwords are hashed in parallel on a dedicated pool, and the chunk is inserted with JDBC batching.
+ * Conflicting or invalid rows are reported individually without aborting the import.
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ExecutorService hashingExecutor;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository, UserService userService,
+                             CustomUserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+                             TransactionTemplate transactionTemplate, Validator validator,
+                             @Value("${auth.import.hashing-threads:0}") int hashingThreads,
+                             @Value("${auth.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.userDetailsService = userDetailsService;
+        // Imports hash on their own pool rather than through the login bulkhead, which they would otherwise fill.
+        this.passwordEncoder = passwordEncoder instanceof BulkheadPasswordEncoder bulkhead ? bulkhead.getDelegate() : passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("user-import-", 0).daemon(true).factory());
+    }
+
+    public BulkImportResult importUsers(Iterator<SignUpRequest> rows) {
+        BulkImportResult result = new BulkImportResult();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        while (rows.hasNext()) {
+            chunk.add(new Row(++rowNumber, rows.next()));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, seenUsernames, seenEmails, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenUsernames, seenEmails, result);
+        }
+
+        logger.info("Bulk import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, Set<String> seenUsernames, Set<String> seenEmails, BulkImportResult result) {
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            Set<ConstraintViolation<SignUpRequest>> violations = validator.validate(row.request());
+            if (!violations.isEmpty()) {
+                reject(result, row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!seenUsernames.add(row.request().getUsername())) {
+                reject(result, row, "Username is already taken!");
+            } else if (!seenEmails.add(row.request().getEmail())) {
+                reject(result, row, "Email is already in use!");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                accepted.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                accepted.stream().map(row -> row.request().getEmail()).toList()));
+
+        List<Row> insertable = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+            if (existingUsernames.contains(row.request().getUsername())) {
+                reject(result, row, "Username is already taken!");
+            } else if (existingEmails.contains(row.request().getEmail())) {
+                reject(result, row, "Email is already in use!");
+            } else {
+                insertable.add(row);
+            }
+        }
+
+        List<CompletableFuture<User>> hashed = insertable.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> toUser(row.request()), hashingExecutor))
+                .toList();
+        // A password BCrypt refuses (over 72 bytes) fails its own row, not the chunk.
+        List<Row> hashedRows = new ArrayList<>(insertable.size());
+        List<User> users = new ArrayList<>(insertable.size());
+        for (int i = 0; i < insertable.size(); i++) {
+            try {
+                users.add(hashed.get(i).join());
+                hashedRows.add(insertable.get(i));
+            } catch (CompletionException ex) {
+                reject(result, insertable.get(i), "Password could not be hashed: " + ex.getCause().getMessage());
+            }
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush();
+            });
+            result.setImported(result.getImported() + users.size());
+            users.forEach(user -> userDetailsService.evictUser(user.getUsername()));
+        } catch (DataIntegrityViolationException ex) {
+            // Someone else inserted a conflicting user since the pre-check; retry row by row to pinpoint it.
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    userService.insert(user);
+                    result.setImported(result.getImported() + 1);
+                } catch (UserAlreadyExistsException | DataIntegrityViolationException rowEx) {
+                    reject(result, hashedRows.get(i), rowEx.getMessage());
+                }
+            }
+        }
+    }
+
+    private User toUser(SignUpRequest request) {
+        return User.builder()
+                .username(request.getUsername())
+                .email(request.getEmail())
+                .fullName(request.getFullName())
+                .password(passwordEncoder.encode(request.getPassword()))
+                .enabled(true)
+                .build();
+    }
+
+    private static void reject(BulkImportResult result, Row row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        result.getErrors().add(new BulkImportResult.RowError(row.number(), row.request().getUsername(), message));
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private record Row(long number, SignUpRequest request) {
+    }
+}
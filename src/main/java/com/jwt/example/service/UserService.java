@@ -4,7 +4,10 @@ import com.jwt.example.dto.SignUpRequest;
 import com.jwt.example.entity.User;
 import com.jwt.example.exception.UserAlreadyExistsException;
 import com.jwt.example.repository.UserRepository;
+import java.util.Locale;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -13,30 +16,80 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CustomUserDetailsService userDetailsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
     }
 
     public User createUser(SignUpRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            throw new UserAlreadyExistsException("Username is already taken!");
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            throw new UserAlreadyExistsException("Email is already in use!");
-        }
+        // Hash before the insert so no pooled connection is held while BCrypt runs.
+        return createUser(signUpRequest, passwordEncoder.encode(signUpRequest.getPassword()));
+    }
 
+    /**
+     * Creates a user whose password the caller has already encoded, e.g. on its own scheduler.
+     */
+    public User createUser(SignUpRequest signUpRequest, String encodedPassword) {
         User user = User.builder()
                 .username(signUpRequest.getUsername())
                 .email(signUpRequest.getEmail())
                 .fullName(signUpRequest.getFullName())
-                .password(passwordEncoder.encode(signUpRequest.getPassword()))
+                .password(encodedPassword)
                 .enabled(true)
                 .build();
 
-        return userRepository.save(user);
+        return insert(user);
+    }
+
+    /**
+     * Inserts a user whose password is already encoded. A single insert; the unique constraints on username and
+     * email decide conflicts, also between concurrent signups.
+     */
+    public User insert(User user) {
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw toUserAlreadyExists(ex, user);
+        }
+
+        userDetailsService.evictUser(saved.getUsername());
+        return saved;
+    }
+
+    /**
+     * Maps a unique constraint violation to the field that caused it, or returns {@code ex} for other violations.
+     */
+    RuntimeException toUserAlreadyExists(DataIntegrityViolationException ex, User user) {
+        String violation = constraintName(ex);
+        if (violation.contains(User.USERNAME_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Username is already taken!");
+        }
+        if (violation.contains(User.EMAIL_CONSTRAINT)) {
+            return new UserAlreadyExistsException("Email is already in use!");
+        }
+
+        // The driver did not report a constraint name; find the colliding value (only on this failure path).
+        if (userRepository.existsByUsername(user.getUsername())) {
+            return new UserAlreadyExistsException("Username is already taken!");
+        }
+        if (userRepository.existsByEmail(user.getEmail())) {
+            return new UserAlreadyExistsException("Email is already in use!");
+        }
+        return ex;
+    }
+
+    private static String constraintName(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
     }
 
     public Optional<User> findByUsername(String username) {
@@ -0,0 +1,60 @@
+package com.jwt.example.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Lock-free Bloom filter over strings. {@link #add} and {@link #mightContain} may be called concurrently;
+ * bits are set with an atomic OR, so no insertion is ever lost.
+ */
+public class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new long[(int) Math.max(1, (bits + 63) / 64)];
+        this.bitCount = words.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), 1L << bit);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,113 @@
+package com.jwt.example.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded map whose entries carry their own expiry time.
+ * <p>
+ * Reads and writes go straight to a {@link ConcurrentHashMap}; when the map is full a single writer sweeps expired
+ * entries and then drops arbitrary ones until there is 10% headroom, while other writers carry on. The bound is
+ * therefore approximate by at most the number of concurrently writing threads.
+ */
+public class BoundedExpiringCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+    private final int maxSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedExpiringCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Iterator<Map.Entry<K, Entry<V>>> expired = entries.entrySet().iterator();
+            while (expired.hasNext()) {
+                if (expired.next().getValue().expiresAtMillis() <= now) {
+                    expired.remove();
+                    evictions.increment();
+                }
+            }
+
+            int target = maxSize - Math.max(1, maxSize / 10);
+            Iterator<K> any = entries.keySet().iterator();
+            while (entries.size() > target && any.hasNext()) {
+                any.next();
+                any.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.jwt.example.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader: comma separated, optional double-quoted fields with {@code ""} escapes,
+ * one record per line. Field values are returned verbatim, surrounding whitespace included, since a column may
+ * hold a password.
+ */
+public class CsvReader {
+
+    private final BufferedReader reader;
+
+    public CsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the next non-blank record, or {@code null} at the end of the input.
+     */
+    public List<String> readRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,88 @@
+package com.jwt.example.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free multi-producer single-consumer queue on a power-of-two ring. Each slot carries a sequence
+ * number telling producers whether it is free and the consumer whether it is published, so {@link #offer} never
+ * blocks: it returns {@code false} when the ring is full. {@link #poll} and {@link #drain} must only be called from
+ * one thread.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.setRelease(index, position + elements.length);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * Hands up to {@code limit} elements to {@code consumer} and returns how many were drained.
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int drained = 0;
+        E element;
+        while (drained < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,104 @@
+package com.jwt.example.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token buckets, implemented as the generic cell rate algorithm: each key holds one {@link AtomicLong} with
+ * the time at which its bucket will be full again, and an acquire is a single compare-and-set, so checks on
+ * different keys never contend and checks on the same key never block. A bucket that has refilled completely
+ * carries no state, which makes idle eviction exact: when the map reaches {@code maxKeys}, refilled entries are
+ * dropped first, then those closest to refilling, until it is back down to a low-water mark of 90% of
+ * {@code maxKeys}. A flood of new keys therefore pays for one scan per tenth of the map and evicts its own
+ * lightly used buckets before a heavily throttled one.
+ */
+public class RateLimiter {
+
+    private final long capacity;
+    private final long refillIntervalMs;
+    private final long burstMs;
+    private final int maxKeys;
+    private final int lowWaterKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param capacity         attempts allowed in a burst
+     * @param refillIntervalMs time after which one more attempt becomes available
+     * @param maxKeys          number of keys tracked before buckets are evicted
+     */
+    public RateLimiter(long capacity, long refillIntervalMs, int maxKeys) {
+        if (capacity < 1 || refillIntervalMs < 1) {
+            throw new IllegalArgumentException("capacity and refillIntervalMs must be positive");
+        }
+        this.capacity = capacity;
+        this.refillIntervalMs = refillIntervalMs;
+        this.burstMs = (capacity - 1) * refillIntervalMs;
+        this.maxKeys = maxKeys;
+        this.lowWaterKeys = maxKeys - Math.max(1, maxKeys / 10);
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when it was available, otherwise the milliseconds until it will be.
+     */
+    public long tryAcquire(String key, long nowMillis) {
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            if (buckets.size() >= maxKeys) {
+                evictIdle(nowMillis);
+            }
+            fullAt = buckets.computeIfAbsent(key, _ -> new AtomicLong(nowMillis));
+        }
+
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, nowMillis);
+            long wait = base - nowMillis - burstMs;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, base + refillIntervalMs)) {
+                return 0;
+            }
+        }
+    }
+
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evictIdle(long nowMillis) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(fullAt -> fullAt.get() <= nowMillis);
+            int excess = buckets.size() - lowWaterKeys;
+            if (excess <= 0) {
+                return;
+            }
+
+            // Every remaining key is throttled. Forget the ones that would refill soonest rather than grow unbounded.
+            List<Map.Entry<String, Long>> byFullAt = new ArrayList<>(buckets.size());
+            buckets.forEach((key, fullAt) -> byFullAt.add(Map.entry(key, fullAt.get())));
+            byFullAt.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Long> entry : byFullAt.subList(0, Math.min(excess, byFullAt.size()))) {
+                buckets.remove(entry.getKey());
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
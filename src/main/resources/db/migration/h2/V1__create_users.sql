@@ -0,0 +1,28 @@
+-- Users, with the lookup indexes named explicitly so query plans do not depend on generated names.
+-- Keep in sync with postgresql/ and mysql/.
+
+-- Pooled ids: increment matches the allocationSize of User.id, so Hibernate hands out 50 ids per round trip.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255) NOT NULL,
+    enabled    BOOLEAN      NOT NULL,
+    created_at BIGINT       NOT NULL,
+    updated_at BIGINT,
+    -- Compared by findByEmailIgnoreCase; H2 cannot index the upper(email) expression itself, so every database
+    -- indexes this column instead.
+    email_upper VARCHAR(255) GENERATED ALWAYS AS (UPPER(email)),
+    CONSTRAINT pk_users PRIMARY KEY (id)
+);
+
+-- findByUsername / findByEmail. The names are User.USERNAME_CONSTRAINT and User.EMAIL_CONSTRAINT, which
+-- UserService maps duplicate-key errors by.
+CREATE UNIQUE INDEX uk_users_username ON users (username);
+CREATE UNIQUE INDEX uk_users_email ON users (email);
+
+-- findByEmailIgnoreCase: email_upper = upper(?).
+CREATE INDEX idx_users_email_upper ON users (email_upper);
@@ -0,0 +1,32 @@
+-- Users, with the lookup indexes named explicitly so query plans do not depend on generated names.
+-- Keep in sync with h2/ and postgresql/.
+
+-- MySQL has no sequences; Hibernate emulates users_seq with this single-row table, reserving 50 ids
+-- (the allocationSize of User.id) per update.
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO users_seq VALUES (1);
+
+CREATE TABLE users (
+    id         BIGINT       NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255) NOT NULL,
+    enabled    BIT          NOT NULL,
+    created_at BIGINT       NOT NULL,
+    updated_at BIGINT,
+    -- Compared by findByEmailIgnoreCase; H2 cannot index the upper(email) expression itself, so every database
+    -- indexes this column instead.
+    email_upper VARCHAR(255) GENERATED ALWAYS AS (upper(email)) VIRTUAL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- findByUsername / findByEmail. The names are User.USERNAME_CONSTRAINT and User.EMAIL_CONSTRAINT, which
+-- UserService maps duplicate-key errors by.
+CREATE UNIQUE INDEX uk_users_username ON users (username);
+CREATE UNIQUE INDEX uk_users_email ON users (email);
+
+-- findByEmailIgnoreCase: email_upper = upper(?).
+CREATE INDEX idx_users_email_upper ON users (email_upper);
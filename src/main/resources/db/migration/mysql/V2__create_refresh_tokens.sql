@@ -0,0 +1,14 @@
+CREATE TABLE refresh_tokens (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    token_hash VARCHAR(64)  NOT NULL,
+    username   VARCHAR(255) NOT NULL,
+    family_id  VARCHAR(36)  NOT NULL,
+    expires_at BIGINT       NOT NULL,
+    revoked    BIT          NOT NULL,
+    created_at BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
@@ -0,0 +1,49 @@
+package com.jwt.example.config;
+
+import com.jwt.example.dto.BulkImportResult;
+import com.jwt.example.dto.UserDTO;
+import com.jwt.example.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApplicationRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    public void setUp() {
+        hints = new RuntimeHints();
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    public void testResponsePayloadsAreBindable() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UserDTO.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BulkImportResult.RowError.class).test(hints));
+    }
+
+    @Test
+    public void testEntityIsInstantiable() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    public void testJjwtImplementationsAreRegistered() {
+        for (String type : ApplicationRuntimeHints.JJWT_IMPL_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type)).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    public void testMigrationsAreIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V1__create_users.sql").test(hints));
+    }
+}
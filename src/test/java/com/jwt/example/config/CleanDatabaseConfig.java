@@ -0,0 +1,22 @@
+package com.jwt.example.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Starts the context from an empty schema, as {@code ddl-auto: create-drop} used to: the in-memory database
+ * outlives a dirtied context while another cached context still holds connections to it.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class CleanDatabaseConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrationStrategy() {
+        return flyway -> {
+            Flyway.configure().configuration(flyway.getConfiguration()).cleanDisabled(false).load().clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.jwt.example.controller;
+
+import com.jwt.example.config.CleanDatabaseConfig;
+import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(CleanDatabaseConfig.class)
+@DirtiesContext
+public class AdminControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    public void testCsvImportReportsFailuresPerRow() throws Exception {
+        userRepository.save(User.builder()
+                .username("existing")
+                .email("existing@example.com")
+                .fullName("Existing User")
+                .password("{noop}secret")
+                .enabled(true)
+                .build());
+        // Passes @Email but not the 255-character column, so only the database rejects it.
+        String longEmail = "longemail1@" + "x".repeat(60) + "." + "y".repeat(60) + "." + "z".repeat(60) + "."
+                + "w".repeat(60) + ".com";
+        String csv = String.join("\n",
+                "username,email,fullName,password",
+                "alice,alice@example.com,Alice,password1",
+                "alice,alice2@example.com,Alice Again,password1",
+                "existing,new@example.com,Existing Again,password1",
+                "x,x@example.com,Xavier,password1",
+                "carol,carol@example.com,Carol," + "p".repeat(80),
+                "dave," + longEmail + ",Dave,password1",
+                "bob,bob@example.com,Bob,password1");
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        String response = mockMvc.perform(post("/api/admin/users/import")
+                        .with(user("admin").roles("USER", "ADMIN"))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode data = new ObjectMapper().readTree(response).get("data");
+        assertEquals(2, data.get("imported").asLong());
+        assertEquals(5, data.get("failed").asLong());
+        Map<Long, String> errors = new HashMap<>();
+        data.get("errors").forEach(error -> errors.put(error.get("row").asLong(), error.get("message").asText()));
+        assertEquals("Username is already taken!", errors.get(2L));
+        assertEquals("Username is already taken!", errors.get(3L));
+        assertEquals("Username must be between 3 and 50 characters", errors.get(4L));
+        assertTrue(errors.get(5L).startsWith("Password could not be hashed"), errors.get(5L));
+        assertNotNull(errors.get(6L));
+        assertEquals(5, errors.size());
+
+        assertTrue(userRepository.findByUsername("alice").isPresent());
+        assertTrue(userRepository.findByUsername("bob").isPresent());
+        assertTrue(userRepository.findByUsername("dave").isEmpty());
+    }
+
+    @Test
+    public void testCsvImportKeepsPasswordWhitespace() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        mockMvc.perform(post("/api/admin/users/import")
+                        .with(user("admin").roles("USER", "ADMIN"))
+                        .contentType("text/csv")
+                        .content("username,email,fullName,password\nerin,erin@example.com,Erin,\" secret \"\n"))
+                .andExpect(status().isOk());
+
+        String hash = userRepository.findByUsername("erin").orElseThrow().getPassword();
+        assertTrue(passwordEncoder.matches(" secret ", hash));
+        assertFalse(passwordEncoder.matches("secret", hash));
+    }
+
+    @Test
+    public void testJsonImportStreamsTheArray() throws Exception {
+        String json = """
+                [
+                  {"username": "frank", "email": "frank@example.com", "fullName": "Frank", "password": "password1"},
+                  {"username": "f", "email": "f@example.com", "fullName": "Short Name", "password": "password1"},
+                  {"username": "grace", "email": "grace@example.com", "fullName": "Grace", "password": "password1"}
+                ]""";
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        mockMvc.perform(post("/api/admin/users/import")
+                        .with(user("admin").roles("USER", "ADMIN"))
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.errors[0].row").value(2));
+        assertTrue(userRepository.findByUsername("grace").isPresent());
+
+        mockMvc.perform(post("/api/admin/users/import")
+                        .with(user("admin").roles("USER", "ADMIN"))
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(0));
+        mockMvc.perform(post("/api/admin/users/import")
+                        .with(user("admin").roles("USER", "ADMIN"))
+                        .contentType("application/json")
+                        .content("{\"username\": \"frank\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,28 +1,53 @@
 package com.jwt.example.controller;
 
+import com.jwt.example.config.CleanDatabaseConfig;
 import com.jwt.example.dto.LoginRequest;
 import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.dto.TokenRefreshRequest;
+import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+// A one-thread, one-slot hashing pool, so a test can fill it.
+@SpringBootTest(properties = {"auth.password.hashing-threads=1", "auth.password.queue-capacity=1"})
+@Import(CleanDatabaseConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 public class AuthControllerIntegrationTest {
 
     @Autowired
     private WebApplicationContext webApplicationContext;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private MockMvc mockMvc;
 
     private ObjectMapper objectMapper;
@@ -69,6 +94,29 @@ public class AuthControllerIntegrationTest {
                 });
     }
 
+    @Test
+    public void testSignUpWithDuplicateUsernameOrEmail() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        signUpRequest.setEmail("other@example.com");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Username is already taken!")));
+
+        signUpRequest.setUsername("otheruser");
+        signUpRequest.setEmail("test@example.com");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Email is already in use!")));
+    }
+
     @Test
     public void testLogin() throws Exception {
         // First register the user
@@ -85,6 +133,74 @@ public class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.token").exists());
     }
 
+    @Test
+    public void testRefreshTokenRotation() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)));
+
+        String loginResponse = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(loginResponse).at("/data/refreshToken").asText();
+        String refreshRequest = objectMapper.writeValueAsString(new TokenRefreshRequest(refreshToken));
+
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshRequest))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").exists())
+                .andExpect(jsonPath("$.data.refreshToken").exists());
+
+        // Reusing a rotated refresh token is rejected
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshRequest))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testLogoutRevokesToken() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)));
+
+        String loginResponse = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andReturn().getResponse().getContentAsString();
+        String bearerToken = "Bearer " + objectMapper.readTree(loginResponse).at("/data/token").asText();
+
+        mockMvc.perform(get("/api/auth/validate").header("Authorization", bearerToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout").header("Authorization", bearerToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/validate").header("Authorization", bearerToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testLegacyPasswordHashIsUpgradedOnLogin() throws Exception {
+        userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .fullName("Test User")
+                .password(new BCryptPasswordEncoder(4).encode("TestPassword123"))
+                .enabled(true)
+                .build());
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk());
+
+        assertTrue(userRepository.findByUsername("testuser").orElseThrow().getPassword().startsWith("{bcrypt}$2a$10$"));
+    }
+
     @Test
     public void testLoginWithInvalidCredentials() throws Exception {
         LoginRequest invalidRequest = LoginRequest.builder()
@@ -98,6 +214,94 @@ public class AuthControllerIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    public void testRepeatedLoginFailuresAreThrottled() throws Exception {
+        LoginRequest invalidRequest = LoginRequest.builder()
+                .username("testuser")
+                .password("wrongpassword")
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(invalidRequest)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    public void testLoginAnswers503WhenHashingPoolIsFull() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(signUpRequest)))
+                .andExpect(status().isCreated());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CharSequence blockingPassword = new BlockingPassword(started, release);
+        CompletableFuture<?> running = CompletableFuture.runAsync(() -> passwordEncoder.encode(blockingPassword));
+        CompletableFuture<?> queued = null;
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            queued = CompletableFuture.runAsync(() -> passwordEncoder.encode(blockingPassword));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("auth.password.queue.depth").gauge().value() < 1) {
+                assertTrue(System.nanoTime() < deadline, "Hashing queue never filled");
+                Thread.sleep(1);
+            }
+
+            mockMvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+            running.join();
+            if (queued != null) {
+                queued.join();
+            }
+        }
+    }
+
+    /**
+     * A password whose hashing holds the pool thread until released; BCrypt reads it through toString().
+     */
+    private record BlockingPassword(CountDownLatch started, CountDownLatch release) implements CharSequence {
+
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocking-password";
+        }
+
+        @Override
+        public int length() {
+            return "blocking-password".length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return "blocking-password".charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return "blocking-password".subSequence(start, end);
+        }
+    }
+
     @Test
     public void testHealthEndpoint() throws Exception {
         mockMvc.perform(get("/api/public/health"))
@@ -0,0 +1,120 @@
+package com.jwt.example.controller;
+
+import com.jwt.example.config.CleanDatabaseConfig;
+import com.jwt.example.dto.LoginRequest;
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.dto.TokenRefreshRequest;
+import com.jwt.example.service.RefreshTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@Import(CleanDatabaseConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ReactiveAuthControllerIntegrationTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    private WebTestClient webTestClient;
+
+    private ObjectMapper objectMapper;
+
+    private SignUpRequest signUpRequest;
+    private LoginRequest loginRequest;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+        objectMapper = new ObjectMapper();
+
+        signUpRequest = SignUpRequest.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .fullName("Test User")
+                .password("TestPassword123")
+                .build();
+
+        loginRequest = LoginRequest.builder()
+                .username("testuser")
+                .password("TestPassword123")
+                .build();
+    }
+
+    @Test
+    public void testSignUpLoginAndLogout() throws Exception {
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.data.username").isEqualTo("testuser");
+
+        byte[] loginResponse = webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody();
+        String bearerToken = "Bearer " + objectMapper.readTree(loginResponse).at("/data/token").asText();
+
+        webTestClient.get().uri("/api/user/profile")
+                .header("Authorization", bearerToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.data").isEqualTo("testuser");
+
+        webTestClient.post().uri("/api/auth/logout")
+                .header("Authorization", bearerToken)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/user/profile")
+                .header("Authorization", bearerToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void testLoginWithInvalidCredentials() {
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(LoginRequest.builder().username("nonexistentuser").password("wrongpassword").build())
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    public void testRefreshForDeletedUserReturnsNotFound() {
+        String refreshToken = refreshTokenService.issue("deleteduser");
+
+        webTestClient.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TokenRefreshRequest(refreshToken))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.success").isEqualTo(false);
+    }
+
+    @Test
+    public void testValidationErrors() {
+        signUpRequest.setEmail("not-an-email");
+        webTestClient.post().uri("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(signUpRequest)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.data.email").exists();
+    }
+}
@@ -0,0 +1,64 @@
+package com.jwt.example.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the PostgreSQL migrations to a real server and checks the query plans of the user lookups. Needs Docker;
+ * skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:17-alpine");
+
+    @Test
+    public void testLookupsUseNamedIndexes() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            // Enough rows, with statistics, that the planner prefers an index over a sequential scan.
+            statement.execute("insert into users (id, username, email, password, full_name, enabled, created_at) "
+                    + "select g, 'user' || g, 'User' || g || '@Example.com', 'x', 'User', true, 0 "
+                    + "from generate_series(1, 10000) g");
+            statement.execute("analyze users");
+
+            assertTrue(plan(statement, "select id from users where username = 'user42'").contains("uk_users_username"));
+            assertTrue(plan(statement, "select id from users where email = 'User42@Example.com'").contains("uk_users_email"));
+            assertTrue(plan(statement, "select id from users where email_upper = upper('user42@example.com')")
+                    .contains("idx_users_email_upper"));
+
+            try (ResultSet row = statement.executeQuery("select email_upper from users where id = 42")) {
+                assertTrue(row.next());
+                assertEquals("USER42@EXAMPLE.COM", row.getString(1));
+            }
+        }
+    }
+
+    private static String plan(Statement statement, String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rows = statement.executeQuery("explain " + query)) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.jwt.example.repository;
+
+import com.jwt.example.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the migrated H2 schema serves the user lookups from the named indexes, and that the projection
+ * queries read its columns.
+ */
+@SpringBootTest
+public class UserRepositorySchemaTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void testLookupsUseNamedIndexes() {
+        assertTrue(plan("select id from users where username = 'testuser'").contains("UK_USERS_USERNAME"));
+        assertTrue(plan("select id from users where email = 'test@example.com'").contains("UK_USERS_EMAIL"));
+        assertTrue(plan("select id from users where email_upper = upper('test@example.com')")
+                .contains("IDX_USERS_EMAIL_UPPER"));
+    }
+
+    @Test
+    public void testFindByEmailIgnoreCaseMatchesGeneratedColumn() {
+        User user = userRepository.save(User.builder()
+                .username("emailcase")
+                .email("Email.Case@Example.com")
+                .fullName("Email Case")
+                .password("{noop}secret")
+                .enabled(true)
+                .build());
+        try {
+            assertEquals(user.getId(), userRepository.findByEmailIgnoreCase("email.case@EXAMPLE.com").orElseThrow().getId());
+            assertTrue(userRepository.findByEmailIgnoreCase("other@example.com").isEmpty());
+        } finally {
+            userRepository.delete(user);
+        }
+    }
+
+    @Test
+    public void testSequenceAllocatesInBlocksOfFifty() {
+        long first = jdbcTemplate.queryForObject("select next value for users_seq", Long.class);
+        long second = jdbcTemplate.queryForObject("select next value for users_seq", Long.class);
+        assertEquals(50, second - first);
+    }
+
+    @Test
+    public void testProjectionsReadTheUserColumns() {
+        User user = userRepository.save(User.builder()
+                .username("projection")
+                .email("projection@example.com")
+                .fullName("Projection User")
+                .password("{noop}secret")
+                .enabled(false)
+                .build());
+        try {
+            assertEquals(new UserCredentials("projection", "{noop}secret", "projection@example.com", false),
+                    userRepository.findCredentialsByUsername("projection").orElseThrow());
+            assertTrue(userRepository.findCredentialsByUsername("nobody").isEmpty());
+        } finally {
+            userRepository.delete(user);
+        }
+    }
+
+    private String plan(String query) {
+        return jdbcTemplate.queryForObject("explain " + query, String.class).toUpperCase();
+    }
+}
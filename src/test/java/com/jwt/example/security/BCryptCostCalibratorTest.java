@@ -0,0 +1,21 @@
+package com.jwt.example.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BCryptCostCalibratorTest {
+
+    @Test
+    public void testStaysWithinStrengthBounds() {
+        int strength = BCryptCostCalibrator.calibrate(1, 1.0, 4, 6);
+        assertTrue(strength >= 4 && strength <= 6, "strength " + strength);
+        // A generous target climbs to the maximum cost.
+        assertEquals(5, BCryptCostCalibrator.calibrate(60_000, 1.0, 4, 5));
+    }
+
+    @Test
+    public void testRejectsToleranceBelowTarget() {
+        assertThrows(IllegalArgumentException.class, () -> BCryptCostCalibrator.calibrate(50, 0.5, 4, 6));
+    }
+}
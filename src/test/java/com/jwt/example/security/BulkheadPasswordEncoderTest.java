@@ -0,0 +1,89 @@
+package com.jwt.example.security;
+
+import com.jwt.example.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // Blocks the pool thread until the test releases it.
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private BulkheadPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    public void testFullPoolRejects() throws Exception {
+        encoder = new BulkheadPasswordEncoder(slowEncoder, 1, 1, 10_000, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueueDepth(1);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+        assertEquals(1, rejections());
+
+        release.countDown();
+        assertEquals("{noop}first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{noop}second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTimeoutRejects() {
+        encoder = new BulkheadPasswordEncoder(slowEncoder, 1, 1, 50, meterRegistry);
+
+        PasswordHashingUnavailableException ex =
+                assertThrows(PasswordHashingUnavailableException.class, () -> encoder.matches("secret", "{noop}secret"));
+
+        assertEquals("Password hashing timed out", ex.getMessage());
+        assertEquals(1, rejections());
+    }
+
+    private double rejections() {
+        return meterRegistry.get("auth.password.rejections").counter().count();
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "Queue never reached " + depth);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.LoggingSecurityEventSink;
+import com.jwt.example.audit.SecurityEventPublisher;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Hs512TokenVerifierTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationAndValidationPurposeOnly-0123456789";
+    private static final SecurityEventPublisher SECURITY_EVENTS =
+            new SecurityEventPublisher(new LoggingSecurityEventSink(), 1024, 256, 10000, 10);
+
+    private final JwtSigningKeys signingKeys = new JwtSigningKeys(SECRET, "HS512", "", "");
+    private final Hs512TokenVerifier verifier = signingKeys.hs512TokenVerifier();
+    private final JwtTokenProvider tokenProvider =
+            new JwtTokenProvider(signingKeys, 60_000, false, new SimpleMeterRegistry(), SECURITY_EVENTS);
+
+    @Test
+    public void testIssuedTokenMatchesJjwt() {
+        UserDetails user = User.withUsername("testuser").password("unused").roles("USER", "ADMIN").disabled(true).build();
+        String token = tokenProvider.generateToken(user);
+
+        VerifiedToken fast = verifier.verify(token).token();
+        VerifiedToken jjwt = tokenProvider.verifyToken(token).orElseThrow();
+
+        assertNotNull(fast);
+        assertNull(fast.claims());
+        assertEquals(jjwt.subject(), fast.subject());
+        assertEquals(jjwt.expiration(), fast.expiration());
+        assertEquals(jjwt.tokenId(), fast.tokenId());
+        assertEquals(jjwt.authorities(), fast.authorities());
+        assertFalse(fast.enabled());
+    }
+
+    @Test
+    public void testTokenWithoutAuthorities() {
+        VerifiedToken verifiedToken = verifier.verify(tokenProvider.generateTokenFromUsername("testuser")).token();
+
+        assertNotNull(verifiedToken);
+        assertEquals("testuser", verifiedToken.subject());
+        assertNull(verifiedToken.authorities());
+        assertTrue(verifiedToken.enabled());
+    }
+
+    @Test
+    public void testRejectsBadSignatureAndExpiredTokens() {
+        String token = tokenProvider.generateTokenFromUsername("testuser");
+        String expired = new JwtTokenProvider(signingKeys, -1_000, false, new SimpleMeterRegistry(), SECURITY_EVENTS)
+                .generateTokenFromUsername("testuser");
+
+        assertEquals(TokenValidationResult.Status.BAD_SIGNATURE,
+                verifier.verify(token.substring(0, token.length() - 4) + "AAAA").status());
+        assertEquals(TokenValidationResult.Status.EXPIRED, verifier.verify(expired).status());
+    }
+
+    @Test
+    public void testUnusualTokensFallBack() {
+        assertNull(verifier.verify(Jwts.builder()
+                .header().keyId("other").and()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact()));
+        assertNull(verifier.verify("not.a.token"));
+    }
+
+    @Test
+    public void testProviderUsesFastPathAndFallsBack() {
+        JwtTokenProvider fastProvider = new JwtTokenProvider(signingKeys, 60_000, true, new SimpleMeterRegistry(), SECURITY_EVENTS);
+        String token = fastProvider.generateToken(User.withUsername("testuser").password("unused").roles("USER").build());
+
+        assertNull(fastProvider.verifyToken(token).orElseThrow().claims());
+        assertEquals(List.of("ROLE_USER"), fastProvider.verifyToken(token).orElseThrow().authorities());
+        assertEquals(TokenValidationResult.Status.BAD_SIGNATURE,
+                fastProvider.validate(token.substring(0, token.length() - 4) + "AAAA").status());
+    }
+}
@@ -0,0 +1,104 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.config.SecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "filterTestSecretKeyForJWTTokenGenerationAndValidationPurposeOnly-0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private UserDetailsService userDetailsService;
+    private MeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        SecurityEventPublisher securityEvents = mock(SecurityEventPublisher.class);
+        tokenProvider = new JwtTokenProvider(new JwtSigningKeys(SECRET, "HS512", "", ""), 900000, false,
+                new SimpleMeterRegistry(), securityEvents);
+        // CLAIMS mode must not reach the user store for tokens that carry roles; an Error escapes the filter.
+        userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(anyString()))
+                .thenThrow(new AssertionError("UserDetailsService called in CLAIMS mode"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(tokenProvider, new VerifiedTokenCache(false, 100, 60000),
+                new TokenRevocationStore(1000, 0.01), userDetailsService, AuthenticationMode.CLAIMS, meterRegistry,
+                securityEvents, SecurityConfig.publicRoutes());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testClaimsAuthenticateWithoutLookup() throws Exception {
+        String token = tokenProvider.generateToken(user("alice", true, "USER", "ADMIN"));
+
+        Authentication authentication = filter(token);
+
+        assertNotNull(authentication);
+        assertEquals("alice", authentication.getName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        assertEquals(1, outcomeCount("authenticated"));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void testDisabledClaimIsRejectedWithoutLookup() throws Exception {
+        String token = tokenProvider.generateToken(user("bob", false, "USER"));
+
+        assertNull(filter(token));
+        assertEquals(1, outcomeCount("disabled"));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    public void testTokenWithoutRolesFallsBackToLookup() throws Exception {
+        reset(userDetailsService);
+        when(userDetailsService.loadUserByUsername("carol")).thenReturn(user("carol", true, "USER"));
+        String token = tokenProvider.generateToken("carol");
+
+        Authentication authentication = filter(token);
+
+        assertNotNull(authentication);
+        assertEquals(Set.of("ROLE_USER"), AuthorityUtils.authorityListToSet(authentication.getAuthorities()));
+        assertEquals(1, outcomeCount("authenticated"));
+        verify(userDetailsService).loadUserByUsername("carol");
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/profile");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private long outcomeCount(String outcome) {
+        return meterRegistry.get("auth.filter").tag("outcome", outcome).timer().count();
+    }
+
+    private static UserDetails user(String username, boolean enabled, String... roles) {
+        return User.withUsername(username).password("{noop}secret").disabled(!enabled).roles(roles).build();
+    }
+}
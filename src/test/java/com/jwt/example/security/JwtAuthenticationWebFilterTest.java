@@ -0,0 +1,101 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.SecurityEventPublisher;
+import com.jwt.example.config.ReactiveSecurityConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationWebFilterTest {
+
+    private static final String SECRET = "filterTestSecretKeyForJWTTokenGenerationAndValidationPurposeOnly-0123456789";
+
+    private JwtTokenProvider tokenProvider;
+    private ReactiveUserDetailsService userDetailsService;
+    private MeterRegistry meterRegistry;
+    private JwtAuthenticationWebFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        SecurityEventPublisher securityEvents = mock(SecurityEventPublisher.class);
+        tokenProvider = new JwtTokenProvider(new JwtSigningKeys(SECRET, "HS512", "", ""), 900000, false,
+                new SimpleMeterRegistry(), securityEvents);
+        userDetailsService = mock(ReactiveUserDetailsService.class);
+        when(userDetailsService.findByUsername(anyString()))
+                .thenThrow(new AssertionError("ReactiveUserDetailsService called in CLAIMS mode"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationWebFilter(tokenProvider, new VerifiedTokenCache(false, 100, 60000),
+                new TokenRevocationStore(1000, 0.01), userDetailsService, AuthenticationMode.CLAIMS, meterRegistry,
+                securityEvents, ServerWebExchangeMatchers.pathMatchers(ReactiveSecurityConfig.PUBLIC_PATHS));
+    }
+
+    @Test
+    public void testClaimsAuthenticateWithSharedAuthorities() {
+        String token = tokenProvider.generateToken(user("alice", true, "USER", "ADMIN"));
+
+        Authentication first = filter("/api/user/profile", token);
+        Authentication second = filter("/api/user/profile", token);
+
+        assertNotNull(first);
+        assertEquals("alice", first.getName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), AuthorityUtils.authorityListToSet(first.getAuthorities()));
+        // The token wraps the list, so compare the elements; the same instances mean one list is shared.
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+        assertEquals(2, outcomeCount("authenticated"));
+        verify(userDetailsService, never()).findByUsername(anyString());
+    }
+
+    @Test
+    public void testDisabledClaimIsRejectedWithoutLookup() {
+        String token = tokenProvider.generateToken(user("bob", false, "USER"));
+
+        assertNull(filter("/api/user/profile", token));
+        assertEquals(1, outcomeCount("disabled"));
+        verify(userDetailsService, never()).findByUsername(anyString());
+    }
+
+    @Test
+    public void testPublicPathsSkipTokenVerification() {
+        assertNull(filter("/api/auth/signin", "not-a-token"));
+        assertTrue(meterRegistry.find("auth.filter").timers().stream().allMatch(timer -> timer.count() == 0));
+    }
+
+    private Authentication filter(String path, String token) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get(path).header("Authorization", "Bearer " + token));
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        WebFilterChain chain = ignored -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(authentication::set)
+                .then();
+        filter.filter(exchange, chain).block();
+        return authentication.get();
+    }
+
+    private long outcomeCount(String outcome) {
+        return meterRegistry.get("auth.filter").tag("outcome", outcome).timer().count();
+    }
+
+    private static UserDetails user(String username, boolean enabled, String... roles) {
+        return User.withUsername(username).password("{noop}secret").disabled(!enabled).roles(roles).build();
+    }
+}
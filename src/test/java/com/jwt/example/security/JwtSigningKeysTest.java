@@ -0,0 +1,48 @@
+package com.jwt.example.security;
+
+import com.jwt.example.audit.LoggingSecurityEventSink;
+import com.jwt.example.audit.SecurityEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtSigningKeysTest {
+
+    private static final SecurityEventPublisher SECURITY_EVENTS =
+            new SecurityEventPublisher(new LoggingSecurityEventSink(), 1024, 256, 10000, 10);
+
+    @Test
+    public void testAsymmetricTokensVerifyAgainstPublishedKey() {
+        for (String algorithm : List.of("RS256", "ES256", "EdDSA")) {
+            JwtSigningKeys signingKeys = new JwtSigningKeys("unused", algorithm, "", "");
+            JwtTokenProvider tokenProvider = new JwtTokenProvider(signingKeys, 60_000, false, new SimpleMeterRegistry(), SECURITY_EVENTS);
+
+            String token = tokenProvider.generateTokenFromUsername("testuser");
+            assertEquals("testuser", tokenProvider.verifyToken(token).orElseThrow().subject(), algorithm);
+
+            List<?> keys = (List<?>) signingKeys.getJwks().get("keys");
+            assertEquals(1, keys.size(), algorithm);
+            assertEquals(algorithm, ((Map<?, ?>) keys.getFirst()).get("alg"));
+        }
+    }
+
+    @Test
+    public void testTokenFromOtherKeyIsRejected() {
+        JwtTokenProvider issuer = new JwtTokenProvider(new JwtSigningKeys("unused", "RS256", "", ""), 60_000, false, new SimpleMeterRegistry(), SECURITY_EVENTS);
+        JwtTokenProvider verifier = new JwtTokenProvider(new JwtSigningKeys("unused", "RS256", "", ""), 60_000, false, new SimpleMeterRegistry(), SECURITY_EVENTS);
+
+        assertTrue(verifier.verifyToken(issuer.generateTokenFromUsername("testuser")).isEmpty());
+    }
+
+    @Test
+    public void testSecretIsNeverPublished() {
+        JwtSigningKeys signingKeys = new JwtSigningKeys(
+                "a-test-secret-that-is-long-enough-for-hs512-signing-0123456789abcdef", "HS512", "", "");
+
+        assertEquals(List.of(), signingKeys.getJwks().get("keys"));
+    }
+}
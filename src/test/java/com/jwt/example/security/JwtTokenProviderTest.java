@@ -1,9 +1,14 @@
 package com.jwt.example.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,6 +18,9 @@ public class JwtTokenProviderTest {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String testUsername;
     private String testToken;
 
@@ -39,10 +47,67 @@ public class JwtTokenProviderTest {
         assertEquals(testUsername, username);
     }
 
+    @Test
+    public void testVerifyToken() {
+        VerifiedToken verifiedToken = jwtTokenProvider.verifyToken(testToken).orElseThrow();
+        assertEquals(testUsername, verifiedToken.subject());
+        assertNotNull(verifiedToken.expiration());
+        assertEquals(testUsername, verifiedToken.claims().getSubject());
+    }
+
+    @Test
+    public void testVerifyTamperedToken() {
+        String tamperedToken = testToken.substring(0, testToken.length() - 4) + "AAAA";
+        assertTrue(jwtTokenProvider.verifyToken(tamperedToken).isEmpty());
+    }
+
+    @Test
+    public void testVerificationOutcomesAreTimed() {
+        long valid = verifyCount("valid");
+        long badSignature = verifyCount("bad_signature");
+
+        jwtTokenProvider.verifyToken(testToken);
+        jwtTokenProvider.verifyToken(testToken.substring(0, testToken.length() - 4) + "AAAA");
+
+        assertEquals(valid + 1, verifyCount("valid"));
+        assertEquals(badSignature + 1, verifyCount("bad_signature"));
+    }
+
+    private long verifyCount(String outcome) {
+        return meterRegistry.get("jwt.token.verify").tag("outcome", outcome).timer().count();
+    }
+
+    @Test
+    public void testGenerateTokenWithAuthorities() {
+        UserDetails userDetails = User.withUsername(testUsername)
+                .password("unused")
+                .authorities("ROLE_USER")
+                .build();
+
+        VerifiedToken verifiedToken = jwtTokenProvider.verifyToken(jwtTokenProvider.generateToken(userDetails)).orElseThrow();
+        assertEquals(List.of("ROLE_USER"), verifiedToken.authorities());
+        assertTrue(verifiedToken.enabled());
+        assertNull(jwtTokenProvider.verifyToken(testToken).orElseThrow().authorities());
+    }
+
     @Test
     public void testValidateInvalidToken() {
         String invalidToken = "invalid.token.string";
         assertFalse(jwtTokenProvider.validateToken(invalidToken));
     }
+
+    @Test
+    public void testValidateReportsWhyTokensAreRejected() {
+        TokenValidationResult result = jwtTokenProvider.validate(testToken);
+        assertTrue(result.isValid());
+        assertEquals(testUsername, result.token().subject());
+
+        assertEquals(TokenValidationResult.Status.BAD_SIGNATURE,
+                jwtTokenProvider.validate(testToken.substring(0, testToken.length() - 4) + "AAAA").status());
+        assertEquals(TokenValidationResult.Status.MALFORMED, jwtTokenProvider.validate("not a token").status());
+        assertEquals(TokenValidationResult.Status.MALFORMED, jwtTokenProvider.validate("only.two").status());
+        assertEquals(TokenValidationResult.Status.INVALID, jwtTokenProvider.validate("").status());
+        assertSame(jwtTokenProvider.validate("not a token"), jwtTokenProvider.validate("still not a token"));
+    }
 }
 
@@ -0,0 +1,97 @@
+package com.jwt.example.service;
+
+import com.jwt.example.dto.SignUpRequest;
+import com.jwt.example.entity.User;
+import com.jwt.example.repository.UserCredentials;
+import com.jwt.example.repository.UserRepository;
+import com.jwt.example.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CustomUserDetailsServiceTest {
+
+    private static final UserCredentials ALICE = new UserCredentials("alice", "{noop}secret", "alice@example.com", true);
+
+    private UserRepository userRepository;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    public void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findCredentialsByUsername("alice")).thenReturn(Optional.of(ALICE));
+        userDetailsService = service(0);
+    }
+
+    private CustomUserDetailsService service(int warmUpSize) {
+        return new CustomUserDetailsService(userRepository, true, 100, 60_000, warmUpSize, Set.of(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testCacheHitAvoidsRepository() {
+        userDetailsService.loadUserByUsername("alice");
+        UserPrincipal cached = userDetailsService.loadUserByUsername("alice");
+
+        assertEquals("alice@example.com", cached.getEmail());
+        verify(userRepository, times(1)).findCredentialsByUsername("alice");
+    }
+
+    @Test
+    public void testUpdatePasswordEvicts() {
+        UserPrincipal loaded = userDetailsService.loadUserByUsername("alice");
+
+        UserPrincipal updated = (UserPrincipal) userDetailsService.updatePassword(loaded, "{noop}changed");
+        userDetailsService.loadUserByUsername("alice");
+
+        assertEquals("{noop}changed", updated.getPassword());
+        verify(userRepository).updatePassword(eq("alice"), eq("{noop}changed"), anyLong());
+        verify(userRepository, times(2)).findCredentialsByUsername("alice");
+    }
+
+    @Test
+    public void testCreateUserEvicts() {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserService userService = new UserService(userRepository, NoOpPasswordEncoder.getInstance(), userDetailsService);
+        userDetailsService.loadUserByUsername("alice");
+
+        userService.createUser(SignUpRequest.builder()
+                .username("alice").email("alice@example.com").fullName("Alice").password("secret").build());
+        userDetailsService.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("alice");
+    }
+
+    @Test
+    public void testErasedCredentialsDoNotReachTheCache() {
+        userDetailsService.loadUserByUsername("alice").eraseCredentials();
+        userDetailsService.loadUserByUsername("alice").eraseCredentials();
+
+        assertEquals("{noop}secret", userDetailsService.loadUserByUsername("alice").getPassword());
+        verify(userRepository, times(1)).findCredentialsByUsername(anyString());
+    }
+
+    @Test
+    public void testWarmUpPreloadsUsers() {
+        UserCredentials bob = new UserCredentials("bob", "{noop}secret", "bob@example.com", true);
+        when(userRepository.findCredentials(any(Pageable.class))).thenReturn(List.of(ALICE, bob));
+        CustomUserDetailsService warmed = service(2);
+
+        warmed.warmUp();
+
+        verify(userRepository).findCredentials(argThat((Pageable pageable) -> pageable.getPageSize() == 2));
+        assertNotNull(warmed.getCachedUser("alice"));
+        assertNotNull(warmed.getCachedUser("bob"));
+        warmed.loadUserByUsername("bob");
+        verify(userRepository, never()).findCredentialsByUsername(anyString());
+    }
+}
@@ -0,0 +1,37 @@
+package com.jwt.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testNoFalseNegatives() {
+        BloomFilter bloomFilter = new BloomFilter(1_000, 0.01);
+        for (int i = 0; i < 1_000; i++) {
+            bloomFilter.add("token-" + i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(bloomFilter.mightContain("token-" + i));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateIsNearTarget() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,39 @@
+package com.jwt.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedExpiringCacheTest {
+
+    @Test
+    public void testHitAndMissCounters() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+        cache.put("a", "value", System.currentTimeMillis() + 60_000);
+
+        assertEquals("value", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() {
+        BoundedExpiringCache<String, String> cache = new BoundedExpiringCache<>(10);
+        cache.put("a", "value", System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(100);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put(i, i, System.currentTimeMillis() + 60_000);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.evictionCount() > 0);
+    }
+}
@@ -0,0 +1,41 @@
+package com.jwt.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    @Test
+    public void testReadsPlainAndQuotedFields() throws IOException {
+        CsvReader reader = reader("a,b,c\n\"x, y\",\"say \"\"hi\"\"\",\n");
+
+        assertEquals(List.of("a", "b", "c"), reader.readRecord());
+        assertEquals(List.of("x, y", "say \"hi\"", ""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    public void testKeepsSurroundingWhitespace() throws IOException {
+        CsvReader reader = reader("alice, b ,\" secret \"\n");
+
+        assertEquals(List.of("alice", " b ", " secret "), reader.readRecord());
+    }
+
+    @Test
+    public void testSkipsBlankLines() throws IOException {
+        CsvReader reader = reader("\n  \nname\n\n");
+
+        assertEquals(List.of("name"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new BufferedReader(new StringReader(content)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.jwt.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void testRejectsWhenFullAndPreservesOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drain(drained::add, 10));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertNull(buffer.poll());
+        assertTrue(buffer.offer(5));
+    }
+
+    @Test
+    public void testConcurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 100_000;
+        AtomicLong acceptedSum = new AtomicLong();
+
+        long drainedSum = 0;
+        long drainedCount = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                futures.add(executor.submit(() -> {
+                    for (long i = 1; i <= perProducer; i++) {
+                        if (buffer.offer(i)) {
+                            acceptedSum.addAndGet(i);
+                        }
+                    }
+                }));
+            }
+
+            while (!futures.stream().allMatch(Future::isDone) || buffer.size() > 0) {
+                Long value;
+                while ((value = buffer.poll()) != null) {
+                    drainedSum += value;
+                    drainedCount++;
+                }
+            }
+        }
+
+        assertTrue(drainedCount > 0);
+        assertEquals(acceptedSum.get(), drainedSum);
+    }
+}
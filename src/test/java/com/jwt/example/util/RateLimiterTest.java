@@ -0,0 +1,60 @@
+package com.jwt.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    @Test
+    public void testAllowsBurstThenRefillsOverTime() {
+        RateLimiter rateLimiter = new RateLimiter(3, 1000, 100);
+        long now = 1_000_000;
+
+        assertEquals(0, rateLimiter.tryAcquire("alice", now));
+        assertEquals(0, rateLimiter.tryAcquire("alice", now));
+        assertEquals(0, rateLimiter.tryAcquire("alice", now));
+        assertEquals(1000, rateLimiter.tryAcquire("alice", now));
+        assertEquals(0, rateLimiter.tryAcquire("bob", now));
+
+        assertEquals(400, rateLimiter.tryAcquire("alice", now + 600));
+        assertEquals(0, rateLimiter.tryAcquire("alice", now + 1000));
+        assertTrue(rateLimiter.tryAcquire("alice", now + 1000) > 0);
+    }
+
+    @Test
+    public void testEvictsRefilledBucketsWhenFull() {
+        RateLimiter rateLimiter = new RateLimiter(2, 1000, 10);
+        long now = 1_000_000;
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("user-" + i, now);
+        }
+
+        // All earlier buckets have refilled by now, so adding one more key drops them.
+        rateLimiter.tryAcquire("user-10", now + 5000);
+        assertTrue(rateLimiter.size() <= 10);
+        assertEquals(0, rateLimiter.tryAcquire("user-0", now + 5000));
+    }
+
+    @Test
+    public void testEvictsDownToLowWaterMarkKeepingThrottledKeys() {
+        RateLimiter rateLimiter = new RateLimiter(2, 1000, 100);
+        long now = 1_000_000;
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("victim", now);
+        }
+        for (int i = 0; i < 99; i++) {
+            rateLimiter.tryAcquire("spray-" + i, now);
+        }
+
+        // Nothing has refilled yet: the lightest buckets go, down to 90% of maxKeys, and the victim keeps its state.
+        rateLimiter.tryAcquire("spray-99", now + 1);
+        assertEquals(91, rateLimiter.size());
+        assertTrue(rateLimiter.tryAcquire("victim", now + 1) > 0);
+
+        for (int i = 100; i < 109; i++) {
+            rateLimiter.tryAcquire("spray-" + i, now + 1);
+        }
+        assertEquals(100, rateLimiter.size());
+    }
+}